@@ -3,6 +3,7 @@ plugins {
     kotlin("plugin.spring") version "1.9.25"
     id("org.springframework.boot") version "3.4.3"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.jyami"
@@ -16,6 +17,7 @@ dependencies {
     testImplementation(kotlin("test"))
 
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("com.fasterxml.jackson.module:jackson-module-kotlin")
     implementation("org.jetbrains.kotlin:kotlin-reflect")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -29,6 +31,48 @@ dependencies {
 tasks.test {
     useJUnitPlatform()
 }
+
+// end-to-end 부하 테스트: ./gradlew loadTest -Ploadtest.rate=3000 -Ploadtest.duration=60
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Boots Application on a random port and drives /read at a constant arrival rate."
+    classpath = loadTest.runtimeClasspath
+    mainClass.set("com.jyami.loadtest.ReadStatusLoadTest")
+    jvmArgs("-Xms1g", "-Xmx1g")
+    systemProperty("loadtest.reportDir", layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    project.properties
+        .filterKeys { it.startsWith("loadtest.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+}
+
+// ./gradlew jmh -Pjmh.includes=IdGeneratorBenchmark
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    (findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
+
+// 싱글톤 구현별 경합 측정 (스레드 1~64): ./gradlew jmhSingleton
+tasks.register<JavaExec>("jmhSingleton") {
+    group = "benchmark"
+    description = "Runs SingletonBenchmark at 1..64 threads and writes one JSON report per thread count."
+    dependsOn("jmhJar")
+    classpath = files(tasks.named("jmhJar"))
+    mainClass.set("com.jyami.singleton.SingletonContentionRunner")
+    args(layout.buildDirectory.dir("reports/jmh").get().asFile.path)
+}
 kotlin {
     jvmToolchain(17)
     compilerOptions {
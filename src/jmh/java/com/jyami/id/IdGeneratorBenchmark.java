@@ -0,0 +1,61 @@
+package com.jyami.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기존 AtomicLong 하나를 공유하는 방식과 SnowflakeIdGenerator 의 스레드 수별 처리량 비교.
+ * 결과는 전체 스레드 합산 ops/us 로 나온다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdGeneratorBenchmark {
+
+    private final AtomicLong atomicLong = new AtomicLong(1);
+    private final IdGenerator snowflake = new SnowflakeIdGenerator(1);
+
+    @Benchmark
+    @Threads(1)
+    public long atomicLong_01() {
+        return atomicLong.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long atomicLong_04() {
+        return atomicLong.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long atomicLong_16() {
+        return atomicLong.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long snowflake_01() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long snowflake_04() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long snowflake_16() {
+        return snowflake.nextId();
+    }
+}
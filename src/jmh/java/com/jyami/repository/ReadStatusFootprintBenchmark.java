@@ -0,0 +1,101 @@
+package com.jyami.repository;
+
+import com.jyami.dto.ReadStatusDto;
+import com.jyami.entity.ReadStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReadStatus 1000만 건을 기존 HashMap<Long, ReadStatus> 와 ReadStatusColumnStore 에 담았을 때의 메모리와 조회 비용 비교.
+ * 메모리는 채우기 전후 GC 후 heap 사용량 차이로 재고, setup 로그에 "bytes/marker" 로 찍힌다.
+ * 운영과 같게 둘 다 기본 생성자로 만들고 한 건씩 넣는다. 늘어나면서 남는 빈 행과 인덱스 여유분까지 포함한 값이다.
+ * ./gradlew jmh -Pjmh.includes=ReadStatusFootprintBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ReadStatusFootprintBenchmark {
+
+    private static final long BASE_EPOCH_SECOND = 1_735_689_600L;
+
+    @Param({"10000000"})
+    public int markers;
+
+    @Param({"COLUMN", "HASH_MAP"})
+    public String layout;
+
+    private ReadStatusColumnStore columnStore;
+    private Map<Long, ReadStatus> hashMap;
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        ids = new long[markers];
+        for (int i = 0; i < markers; i++) {
+            ids[i] = ((long) i << 12) | (i & 0xFFF); // snowflake 처럼 시간 순으로 증가하는 id
+        }
+
+        long before = usedHeap();
+        if (layout.equals("COLUMN")) {
+            columnStore = new ReadStatusColumnStore();
+            for (int i = 0; i < markers; i++) {
+                columnStore.put(ids[i], i % 100_000, i % 1_000, BASE_EPOCH_SECOND + i);
+            }
+        } else {
+            hashMap = new HashMap<>();
+            for (int i = 0; i < markers; i++) {
+                LocalDateTime lastReadAt = LocalDateTime.ofEpochSecond(BASE_EPOCH_SECOND + i, 0, ZoneOffset.UTC);
+                hashMap.put(ids[i], new ReadStatus(ids[i], i % 100_000, i % 1_000, lastReadAt));
+            }
+        }
+        long used = usedHeap() - before;
+        System.out.printf("%n%s: %,d markers, %,d bytes, %.1f bytes/marker%n", layout, markers, used, (double) used / markers);
+        if (columnStore != null) {
+            System.out.printf("COLUMN allocated: %.1f bytes/marker%n", (double) columnStore.footprintBytes() / markers);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        columnStore = null;
+        hashMap = null;
+    }
+
+    // 둘 다 API 응답으로 나가는 ReadStatusDto 까지 만든다
+    @Benchmark
+    public ReadStatusDto findById() {
+        long id = ids[ThreadLocalRandom.current().nextInt(markers)];
+        if (columnStore != null) {
+            return columnStore.get(id, (rowId, userId, channelId, lastReadAt) ->
+                    new ReadStatusDto(rowId, userId, channelId, LocalDateTime.ofEpochSecond(lastReadAt, 0, ZoneOffset.UTC)));
+        }
+        ReadStatus readStatus = hashMap.get(id);
+        return new ReadStatusDto(readStatus.getId(), readStatus.getUserId(), readStatus.getChannelId(), readStatus.getLastReadAt());
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
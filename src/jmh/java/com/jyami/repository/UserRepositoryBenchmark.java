@@ -0,0 +1,107 @@
+package com.jyami.repository;
+
+import com.jyami.dto.UserDto;
+import com.jyami.entity.User;
+import com.jyami.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 읽기 6 : 쓰기 2 스레드 비율에서 MVCC 저장소와 ReadWriteLock 으로 감싼 HashMap 저장소 비교.
+ * reader 는 findById 99번마다 findAll 을 1번 호출한다.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserRepositoryBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private UserRepositoryMvccImpl mvcc;
+    private UserRepositoryHashImpl hash;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private User[] mvccUsers;
+    private User[] hashUsers;
+
+    @Setup
+    public void setUp() {
+        mvcc = new UserRepositoryMvccImpl(new SnowflakeIdGenerator(0));
+        hash = new UserRepositoryHashImpl(new SnowflakeIdGenerator(1));
+        mvccUsers = new User[USERS];
+        hashUsers = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            UserDto userDto = new UserDto("user" + i, "user" + i + "@example.com");
+            mvccUsers[i] = mvcc.create(userDto);
+            hashUsers[i] = hash.create(userDto);
+        }
+    }
+
+    @Benchmark
+    @Group("mvcc")
+    @GroupThreads(6)
+    public Object mvccRead() {
+        if (findAllTurn()) {
+            return mvcc.findAll();
+        }
+        return mvcc.findById(random(mvccUsers).getId());
+    }
+
+    @Benchmark
+    @Group("mvcc")
+    @GroupThreads(2)
+    public void mvccWrite() {
+        User user = random(mvccUsers);
+        mvcc.update(user, new UserDto(user.getName(), user.getEmail()));
+    }
+
+    @Benchmark
+    @Group("readWriteLock")
+    @GroupThreads(6)
+    public Object lockedRead() {
+        boolean findAll = findAllTurn();
+        long id = random(hashUsers).getId();
+        lock.readLock().lock();
+        try {
+            if (findAll) {
+                return hash.findAll();
+            }
+            return hash.findById(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("readWriteLock")
+    @GroupThreads(2)
+    public void lockedWrite() {
+        User user = random(hashUsers);
+        lock.writeLock().lock();
+        try {
+            hash.findById(user.getId())
+                .ifPresent(found -> hash.update(found, new UserDto(user.getName(), user.getEmail())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean findAllTurn() {
+        return ThreadLocalRandom.current().nextInt(100) == 0;
+    }
+
+    private static User random(User[] users) {
+        return users[ThreadLocalRandom.current().nextInt(USERS)];
+    }
+}
@@ -0,0 +1,73 @@
+package com.jyami.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수백만 건이 색인된 상태에서 자동완성(prefix) / 부분 일치 검색 한 번에 걸리는 시간.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+public class SearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "ka", "ki", "ko", "min", "jun", "seo", "ho", "ji", "yu", "na", "ra", "dong", "hyun", "su", "woo", "jae"
+    };
+
+    @Param({"1000000", "3000000"})
+    private int size;
+
+    private SearchIndex<Long, Long> index;
+    private String[] prefixes;
+    private String[] substrings;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SearchIndex<>();
+        for (long id = 0; id < size; id++) {
+            String name = randomName(random);
+            index.put(id, id, name, name + id + "@example.com");
+        }
+        prefixes = new String[1024];
+        substrings = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = randomName(random);
+            prefixes[i] = name.substring(0, 1 + random.nextInt(Math.min(4, name.length())));
+            substrings[i] = name.substring(name.length() / 2) + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public List<Long> autocomplete() {
+        return index.search(prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)], 10);
+    }
+
+    @Benchmark
+    public List<Long> substring() {
+        return index.search(substrings[ThreadLocalRandom.current().nextInt(substrings.length)], 10);
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.toString();
+    }
+}
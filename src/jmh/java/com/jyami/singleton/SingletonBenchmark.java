@@ -0,0 +1,51 @@
+package com.jyami.singleton;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 싱글톤 구현별 getInstance() 비용. 초기화가 끝난 뒤의 경로(이미 instance 가 있는 경우)를 잰다.
+ * 스레드 수는 SingletonContentionRunner 가 1~64 로 바꿔 가며 돌린다.
+ * synchronized 메서드는 스레드가 늘수록 lock 경합으로 처리량이 떨어지고, 나머지는 volatile/final 읽기뿐이라 거의 그대로다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SingletonBenchmark {
+
+    @Benchmark
+    public EagerSingleton eager() {
+        return EagerSingleton.INSTANCE;
+    }
+
+    @Benchmark
+    public LazySingleton lazy() {
+        return LazySingleton.getInstance();
+    }
+
+    @Benchmark
+    public ThreadSafeSingleton threadSafe() {
+        return ThreadSafeSingleton.getInstance();
+    }
+
+    @Benchmark
+    public DoubleCheckedLockingSingleton doubleCheckedLocking() {
+        return DoubleCheckedLockingSingleton.getInstance();
+    }
+
+    @Benchmark
+    public HolderSingleton holder() {
+        return HolderSingleton.getInstance();
+    }
+
+    @Benchmark
+    public EnumSingleton enumSingleton() {
+        return EnumSingleton.INSTANCE;
+    }
+}
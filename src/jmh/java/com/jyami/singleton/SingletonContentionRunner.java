@@ -0,0 +1,36 @@
+package com.jyami.singleton;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * SingletonBenchmark 를 스레드 수 1, 2, 4, ..., 64 로 돌리고 스레드 수별 JSON 결과를 남긴다.
+ * ./gradlew jmhSingleton  ->  build/reports/jmh/singleton-{n}t.json
+ */
+public class SingletonContentionRunner {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        File reportDir = new File(args.length > 0 ? args[0] : "build/reports/jmh");
+        reportDir.mkdirs();
+
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(SingletonBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(2)
+                    .measurementIterations(5)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(reportDir, "singleton-" + threads + "t.json").getPath())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
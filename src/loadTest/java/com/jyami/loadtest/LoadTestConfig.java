@@ -0,0 +1,48 @@
+package com.jyami.loadtest;
+
+/**
+ * 부하 테스트 설정. {@code ./gradlew loadTest -Ploadtest.rate=3000} 처럼 넘긴 값이 시스템 프로퍼티로 들어온다.
+ *
+ * @param rate         초당 요청 수 (도착률). 응답 속도와 상관없이 이 간격으로 요청을 보낸다
+ * @param warmupSeconds 측정 전에 같은 부하를 흘려보내는 시간
+ * @param durationSeconds 측정 시간
+ * @param seed         요청 순서를 만드는 난수 seed. 같은 seed 면 매번 같은 순서로 요청한다
+ * @param createPercent POST /read 비율
+ * @param missingPercent 없는 id 로 GET /read/{id} 하는 비율. 나머지는 있는 id 조회
+ * @param seedMarkers  시작 전에 만들어두는 read status 수. 있는 id 조회가 있으면(createPercent + missingPercent < 100) 1 이상이어야 한다
+ * @param maxInFlight  동시에 응답을 기다리는 요청 수 상한. 넘으면 보내지 않고 dropped 로 세며, 하나라도 있으면 측정을 실패로 본다
+ * @param reportDir    리포트를 쓸 디렉토리
+ */
+record LoadTestConfig(
+    int rate,
+    int warmupSeconds,
+    int durationSeconds,
+    long seed,
+    int createPercent,
+    int missingPercent,
+    int seedMarkers,
+    int maxInFlight,
+    String reportDir
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+            Integer.getInteger("loadtest.rate", 2_000),
+            Integer.getInteger("loadtest.warmup", 10),
+            Integer.getInteger("loadtest.duration", 30),
+            Long.getLong("loadtest.seed", 42L),
+            Integer.getInteger("loadtest.createPercent", 20),
+            Integer.getInteger("loadtest.missingPercent", 10),
+            Integer.getInteger("loadtest.seedMarkers", 1_000),
+            Integer.getInteger("loadtest.maxInFlight", 10_000),
+            System.getProperty("loadtest.reportDir", "build/reports/loadtest")
+        );
+        boolean readsExisting = config.createPercent + config.missingPercent < 100; // 있는 id 조회는 seedMarkers 에서 고른다
+        if (config.rate <= 0 || config.warmupSeconds <= 0 || config.durationSeconds <= 0 || config.maxInFlight <= 0
+            || config.createPercent < 0 || config.missingPercent < 0 || config.createPercent + config.missingPercent > 100
+            || (readsExisting && config.seedMarkers < 1)) {
+            throw new IllegalArgumentException("invalid load test config: " + config);
+        }
+        return config;
+    }
+}
@@ -0,0 +1,343 @@
+package com.jyami.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jyami.Application;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * /read 엔드포인트 end-to-end 부하 테스트.
+ *
+ * Application 을 임의의 로컬 포트로 띄운 뒤, 정해진 도착률(open model)로 요청을 보낸다.
+ * 지연 시간은 실제로 보낸 시각이 아니라 "보냈어야 할 시각"부터 잰다. 서버가 멈춰서 요청을 늦게 보내게
+ * 되더라도 그동안 밀린 시간까지 지연에 포함되므로 coordinated omission 이 생기지 않는다.
+ *
+ * 결과는 {@code build/reports/loadtest} 에 텍스트 리포트(.txt)와 HdrHistogram 로그(.hlog)로 남는다.
+ *
+ * maxInFlight 에 걸려 보내지 못한 요청은 응답 시간이 없어서 히스토그램에 넣을 수 없다. 이런 요청이 있으면
+ * 백분위수가 실제보다 좋게 나오므로, 리포트를 남긴 뒤 실패로 끝낸다.
+ */
+public class ReadStatusLoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final ExecutorService clientExecutor = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(clientExecutor)
+        .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IdPool ids = new IdPool();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Path dataDir = Files.createTempDirectory("loadtest");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+            .properties(
+                "server.port=0",
+                "discodeit.replication.role=standalone",
+                // 저장 파일은 모두 임시 디렉터리에 둔다. 이전 실행이 남긴 cold segment 나 스냅샷을 읽지 않도록
+                "discodeit.repository.file.channel=" + dataDir.resolve("channel.ser"),
+                "discodeit.repository.file.read-status-cold=" + dataDir.resolve("readstatus-cold"),
+                "discodeit.export.dir=" + dataDir.resolve("export"),
+                "logging.level.root=WARN"
+            )
+            .run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new ReadStatusLoadTest(config, URI.create("http://localhost:" + port)).run();
+        }
+    }
+
+    ReadStatusLoadTest(LoadTestConfig config, URI baseUri) {
+        this.config = config;
+        this.baseUri = baseUri;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    void run() throws Exception {
+        seed();
+
+        System.out.printf("warmup: %d req/s for %ds%n", config.rate(), config.warmupSeconds());
+        Random random = new Random(config.seed());
+        drive(config.warmupSeconds(), random);
+        awaitInFlight();
+        stats.values().forEach(Stats::reset);
+
+        System.out.printf("measure: %d req/s for %ds%n", config.rate(), config.durationSeconds());
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        drive(config.durationSeconds(), random);
+        awaitInFlight();
+        long elapsedNanos = System.nanoTime() - start;
+
+        writeReport(startedAt, elapsedNanos);
+
+        long dropped = stats.values().stream().mapToLong(operationStats -> operationStats.dropped.sum()).sum();
+        if (dropped > 0) {
+            throw new IllegalStateException(dropped + " requests were dropped at maxInFlight=" + config.maxInFlight()
+                + ", so the latency percentiles exclude them and are not valid. Lower loadtest.rate or raise loadtest.maxInFlight.");
+        }
+    }
+
+    // GET 으로 조회할 id 를 미리 만들어 둔다
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < config.seedMarkers(); i++) {
+            HttpResponse<String> response = client.send(createRequest(i), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("seed request failed: " + response.statusCode() + " " + response.body());
+            }
+            ids.add(parseId(response.body()));
+        }
+    }
+
+    private void drive(int seconds, Random random) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(pickOperation(random), intendedStart, random);
+        }
+    }
+
+    private Operation pickOperation(Random random) {
+        int dice = random.nextInt(100);
+        if (dice < config.createPercent()) {
+            return Operation.CREATE;
+        }
+        if (dice < config.createPercent() + config.missingPercent()) {
+            return Operation.GET_MISSING;
+        }
+        return Operation.GET;
+    }
+
+    private void send(Operation operation, long intendedStart, Random random) {
+        Stats operationStats = stats.get(operation);
+        if (inFlight.get() >= config.maxInFlight()) {
+            operationStats.dropped.increment();
+            return;
+        }
+        HttpRequest request = switch (operation) {
+            case CREATE -> createRequest(random.nextInt(1_000_000));
+            case GET -> getRequest(ids.pick(random));
+            // 서버가 발급하는 id 는 항상 양수라서 음수 id 는 항상 없다
+            case GET_MISSING -> getRequest(-1 - random.nextInt(Integer.MAX_VALUE));
+        };
+
+        inFlight.incrementAndGet();
+        long sentAt = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long completedAt = System.nanoTime();
+            try {
+                operationStats.latency.recordValue(Math.min(toMicros(completedAt - intendedStart), HIGHEST_TRACKABLE_MICROS));
+                operationStats.serviceTime.recordValue(Math.min(toMicros(completedAt - sentAt), HIGHEST_TRACKABLE_MICROS));
+                if (error != null) {
+                    operationStats.errors.increment();
+                } else {
+                    operationStats.statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                    if (operation == Operation.CREATE && response.statusCode() == 201) {
+                        ids.add(parseId(response.body()));
+                    }
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos() * 2;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private HttpRequest createRequest(int n) {
+        String body = "{\"userId\": " + (n % 1_000) + ", \"channelId\": " + (n % 100)
+            + ", \"lastReadAt\": \"2025-03-14 00:20:46\"}";
+        return HttpRequest.newBuilder(baseUri.resolve("/read"))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest getRequest(long id) {
+        return HttpRequest.newBuilder(baseUri.resolve("/read/" + id))
+            .timeout(REQUEST_TIMEOUT)
+            .GET()
+            .build();
+    }
+
+    private long parseId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("unexpected response: " + body, e);
+        }
+    }
+
+    private void writeReport(LocalDateTime startedAt, long elapsedNanos) throws IOException {
+        Path dir = Path.of(config.reportDir());
+        Files.createDirectories(dir);
+        String name = "read-status-" + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path report = dir.resolve(name + ".txt");
+        Path histogramLog = dir.resolve(name + ".hlog");
+
+        StringBuilder summary = new StringBuilder();
+        try (PrintStream out = new PrintStream(Files.newOutputStream(report), true, StandardCharsets.UTF_8);
+             PrintStream log = new PrintStream(Files.newOutputStream(histogramLog), true, StandardCharsets.UTF_8)) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(log);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputLegend();
+
+            out.printf("# /read load test %s%n", startedAt);
+            out.printf("config: %s%n", config);
+            out.printf("jvm: %s %s, cpus: %d%n", System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors());
+            out.printf("elapsed: %.1fs%n%n", elapsedNanos / 1e9);
+            long dropped = stats.values().stream().mapToLong(operationStats -> operationStats.dropped.sum()).sum();
+            if (dropped > 0) {
+                out.printf("INVALID: %d requests dropped at maxInFlight, percentiles below exclude them%n%n", dropped);
+            }
+            out.println("latency = 보냈어야 할 시각부터 응답까지 (coordinated omission 보정), service = 실제로 보낸 시각부터 응답까지");
+            out.println("단위: ms");
+            out.println();
+
+            for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+                Operation operation = entry.getKey();
+                Stats operationStats = entry.getValue();
+                Histogram latency = operationStats.latency.getIntervalHistogram();
+                Histogram serviceTime = operationStats.serviceTime.getIntervalHistogram();
+
+                String operationSummary = String.format("[%s] %s%n", operation, operation.description)
+                    + String.format("  requests: %d, statuses: %s, errors: %d, dropped: %d%n",
+                        latency.getTotalCount(), operationStats.statusSummary(), operationStats.errors.sum(), operationStats.dropped.sum())
+                    + "  latency: " + percentiles(latency) + System.lineSeparator()
+                    + "  service: " + percentiles(serviceTime) + System.lineSeparator();
+                summary.append(operationSummary);
+                out.println(operationSummary);
+                latency.outputPercentileDistribution(out, 1000.0);
+                out.println();
+
+                latency.setTag(operation.name());
+                logWriter.outputIntervalHistogram(latency);
+            }
+        }
+        System.out.print(summary);
+        System.out.println("report: " + report.toAbsolutePath());
+    }
+
+    private static String percentiles(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "-";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (double percentile : new double[]{50, 90, 99, 99.9, 99.99}) {
+            builder.append(String.format("p%s=%.3f ", percentile, histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        return builder.append(String.format("max=%.3f", histogram.getMaxValue() / 1000.0)).toString();
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private enum Operation {
+        CREATE("POST /read"),
+        GET("GET /read/{id} (존재하는 id)"),
+        GET_MISSING("GET /read/{id} (없는 id)");
+
+        private final String description;
+
+        Operation(String description) {
+            this.description = description;
+        }
+    }
+
+    private static final class Stats {
+        private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private void reset() {
+            latency.reset();
+            serviceTime.reset();
+            statuses.clear();
+            errors.reset();
+            dropped.reset();
+        }
+
+        private String statusSummary() {
+            Map<Integer, Long> sorted = new TreeMap<>();
+            statuses.forEach((status, count) -> sorted.put(status, count.sum()));
+            return sorted.toString();
+        }
+    }
+
+    // 응답 콜백 스레드가 추가하고 요청 스레드가 무작위로 고른다
+    private static final class IdPool {
+        private long[] ids = new long[1024];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized long pick(Random random) {
+            return ids[random.nextInt(size)];
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.jyami;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Main 의 비대화형(batch) 모드. 파일이나 파이프로 들어온 명령을 프롬프트 없이 처리한다.
+ *
+ * 입력은 대화형과 같은 형식("add" 다음 줄에 item)이고, 한 줄짜리 "add item" / "remove item" 도 받는다.
+ * 명령마다 목록을 건드리지 않고 BATCH_SIZE 개씩 모아서 반영한다. add 는 addAll 한 번, remove 는 목록을 한 번만 훑어서 지운다.
+ * remove 성공 여부는 item 별 개수(counts)로 바로 판단하므로 출력은 명령 순서 그대로다.
+ * 출력은 호출한 쪽이 넘긴 버퍼에 쓰고, 명령마다 마지막 flush 뒤 FLUSH_INTERVAL_NANOS 가 지났거나
+ * 다음 입력이 아직 도착하지 않았으면(in.ready() 가 false) flush 한다. 입력을 천천히 넣는 쪽도 기다리는 동안 결과를 볼 수 있다.
+ * loop 는 끝나지 않는 명령이라 batch 모드에서는 지원하지 않는다.
+ */
+public class BatchCommandRunner {
+
+    public static final int READ_BUFFER_SIZE = 1 << 20;
+    public static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int BATCH_SIZE = 64 * 1024;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final List<String> list;
+    private final Map<String, Integer> counts = new HashMap<>(); // item -> 반영 대기 중인 명령까지 포함한 개수
+    private final List<String> pendingAdds = new ArrayList<>();
+    private final Map<String, Integer> pendingRemoves = new HashMap<>();
+    private int pendingCommands;
+
+    private long commands;
+    private long added;
+    private long removed;
+    private long notFound;
+    private long invalid;
+
+    public BatchCommandRunner(List<String> list) {
+        this.list = list;
+        for (String item : list) {
+            counts.merge(item, 1, Integer::sum);
+        }
+    }
+
+    public Summary run(BufferedReader in, Writer out) throws IOException {
+        long start = System.nanoTime();
+        long lastFlush = start;
+        String line;
+        while ((line = in.readLine()) != null && !line.equals("exit")) {
+            commands++;
+            if (line.equals("add") || line.equals("remove")) {
+                String item = in.readLine();
+                if (item == null) {
+                    break;
+                }
+                execute(line.equals("add"), item, out);
+            } else if (line.startsWith("add ")) {
+                execute(true, line.substring("add ".length()), out);
+            } else if (line.startsWith("remove ")) {
+                execute(false, line.substring("remove ".length()), out);
+            } else {
+                invalid++;
+                out.write("Invalid command.\n");
+            }
+
+            if (++pendingCommands == BATCH_SIZE) {
+                applyBatch();
+            }
+            // 다음 readLine 이 막힐 수 있으면 막히기 전에 내보낸다
+            long now = System.nanoTime();
+            if (now - lastFlush >= FLUSH_INTERVAL_NANOS || !in.ready()) {
+                out.flush();
+                lastFlush = now;
+            }
+        }
+        applyBatch();
+        out.flush();
+        return new Summary(commands, added, removed, notFound, invalid, System.nanoTime() - start, list.size());
+    }
+
+    private void execute(boolean add, String item, Writer out) throws IOException {
+        if (add) {
+            pendingAdds.add(item);
+            counts.merge(item, 1, Integer::sum);
+            added++;
+            out.write("Item added: ");
+        } else if (takeOne(counts, item)) {
+            pendingRemoves.merge(item, 1, Integer::sum);
+            removed++;
+            out.write("Item removed: ");
+        } else {
+            notFound++;
+            out.write("Item not found: ");
+        }
+        out.write(item);
+        out.write('\n');
+    }
+
+    // list.remove(item) 는 앞쪽부터 지우므로, add 를 먼저 붙이고 앞에서부터 item 별 개수만큼 지우면 한 건씩 처리한 결과와 같다
+    private void applyBatch() {
+        list.addAll(pendingAdds);
+        pendingAdds.clear();
+        if (!pendingRemoves.isEmpty()) {
+            list.removeIf(item -> takeOne(pendingRemoves, item));
+        }
+        pendingCommands = 0;
+    }
+
+    private static boolean takeOne(Map<String, Integer> counts, String item) {
+        Integer count = counts.get(item);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            counts.remove(item);
+        } else {
+            counts.put(item, count - 1);
+        }
+        return true;
+    }
+
+    public record Summary(long commands, long added, long removed, long notFound, long invalid, long elapsedNanos, int listSize) {
+
+        public String format() {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return String.format("Processed %,d commands (add %,d, remove %,d, not found %,d, invalid %,d) in %,.0f ms: %,.0f commands/s, list size %,d",
+                commands, added, removed, notFound, invalid, seconds * 1000, seconds > 0 ? commands / seconds : 0.0, listSize);
+        }
+    }
+}
@@ -1,5 +1,16 @@
 package com.jyami;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
@@ -11,11 +22,16 @@ import java.util.Scanner;
 // -XX:+HeapDumpOnOutOfMemoryError
 // -XX:HeapDumpPath=logs
 //
+// batch mode: java com.jyami.Main --batch [commands.txt]   (파일을 생략하면 stdin)
 
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         List<String> list = new ArrayList<>();
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(list, args.length > 1 ? args[1] : "-");
+            return;
+        }
         System.out.println("Hello World!");
 
         Scanner scanner = new Scanner(System.in);
@@ -63,4 +79,14 @@ public class Main {
             }
         }
     }
+
+    private static void runBatch(List<String> list, String input) throws IOException {
+        InputStream source = input.equals("-") ? System.in : Files.newInputStream(Path.of(input));
+        // System.out(PrintStream) 은 호출마다 lock 을 잡으므로 stdout 에 직접 버퍼를 단다
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8), BatchCommandRunner.READ_BUFFER_SIZE);
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BatchCommandRunner.WRITE_BUFFER_SIZE)) {
+            BatchCommandRunner.Summary summary = new BatchCommandRunner(list).run(in, out);
+            System.err.println(summary.format()); // 출력(stdout)을 파이프로 넘겨도 섞이지 않게 stderr 로
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.jyami.config;
+
+import com.jyami.file.FileChannelRepository;
+import com.jyami.replication.ChannelReplicationPrimary;
+import com.jyami.replication.ChannelReplicationReplica;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ChannelConfig {
+
+    @Bean
+    public FileChannelRepository fileChannelRepository(@Value("${discodeit.repository.file.channel:channel.dat}") String fileName) {
+        return new FileChannelRepository(fileName);
+    }
+
+    // discodeit.replication.role: primary
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "discodeit.replication.role", havingValue = "primary")
+    public ChannelReplicationPrimary channelReplicationPrimary(
+        FileChannelRepository fileChannelRepository,
+        MeterRegistry meterRegistry,
+        @Value("${discodeit.replication.bind-address:127.0.0.1}") String bindAddress,
+        @Value("${discodeit.replication.port:7070}") int port,
+        @Value("${discodeit.replication.backlog-size:10000}") int backlogSize
+    ) {
+        ChannelReplicationPrimary primary = new ChannelReplicationPrimary(fileChannelRepository, bindAddress, port, backlogSize);
+        FunctionCounter.builder("channel.replication.resyncs", primary, ChannelReplicationPrimary::getSnapshotResyncs)
+            .description("replica 접속 시 스냅샷 전체를 보낸 횟수")
+            .tag("type", "snapshot")
+            .register(meterRegistry);
+        FunctionCounter.builder("channel.replication.resyncs", primary, ChannelReplicationPrimary::getBacklogResyncs)
+            .description("replica 재접속 시 backlog 의 변경 로그만 보낸 횟수")
+            .tag("type", "backlog")
+            .register(meterRegistry);
+        return primary;
+    }
+
+    // discodeit.replication.role: replica
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "discodeit.replication.role", havingValue = "replica")
+    public ChannelReplicationReplica channelReplicationReplica(
+        FileChannelRepository fileChannelRepository,
+        MeterRegistry meterRegistry,
+        @Value("${discodeit.replication.primary-host:localhost}") String host,
+        @Value("${discodeit.replication.port:7070}") int port,
+        @Value("${discodeit.replication.reconnect-delay-millis:1000}") long reconnectDelayMillis
+    ) {
+        ChannelReplicationReplica replica = new ChannelReplicationReplica(fileChannelRepository, host, port, reconnectDelayMillis);
+        Gauge.builder("channel.replication.lag.sequences", replica, ChannelReplicationReplica::getLagSequences)
+            .description("primary 대비 아직 반영하지 못한 변경 로그 수")
+            .register(meterRegistry);
+        Gauge.builder("channel.replication.lag", replica, ChannelReplicationReplica::getLagMillis)
+            .description("마지막 변경이 primary 에서 반영된 뒤 replica 에 반영되기까지 걸린 시간(ms)")
+            .register(meterRegistry);
+        Gauge.builder("channel.replication.connected", replica, r -> r.isConnected() ? 1 : 0)
+            .register(meterRegistry);
+        return replica;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jyami.config;
+
+import com.jyami.limiter.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "discodeit.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    public ConcurrencyLimitConfig(
+        MeterRegistry meterRegistry,
+        @Value("${discodeit.limiter.initial-limit:20}") int initialLimit,
+        @Value("${discodeit.limiter.min-limit:4}") int minLimit,
+        @Value("${discodeit.limiter.max-limit:200}") int maxLimit,
+        @Value("${discodeit.limiter.window-millis:100}") long windowMillis
+    ) {
+        this.concurrencyLimitInterceptor = new ConcurrencyLimitInterceptor(meterRegistry, initialLimit, minLimit, maxLimit, windowMillis);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor)
+            .excludePathPatterns("/actuator/**") // 과부하 중에도 상태/지표는 볼 수 있어야 한다
+            .excludePathPatterns("/stores/**"); // 파일 전송은 응답 시간이 파일 크기에 비례해서 RTT 측정을 망친다
+    }
+}
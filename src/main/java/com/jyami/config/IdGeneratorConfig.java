@@ -0,0 +1,31 @@
+package com.jyami.config;
+
+import com.jyami.id.IdGenerator;
+import com.jyami.id.SnowflakeIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    // 인스턴스마다 다른 node-id 를 지정해야 한다. 여러 인스턴스가 같은 node-id 를 쓰면 ID 가 충돌한다
+    @Bean
+    public IdGenerator idGenerator(
+        @Value("${discodeit.id.node-id:#{null}}") Integer nodeId,
+        @Value("${discodeit.replication.role:standalone}") String role
+    ) {
+        if (nodeId == null) {
+            if (!role.equals("standalone")) {
+                throw new IllegalStateException("discodeit.id.node-id must be set when discodeit.replication.role is " + role);
+            }
+            logger.warn("discodeit.id.node-id is not set, using 0. Set a distinct node-id (0 ~ {}) on every instance or generated ids will collide.",
+                SnowflakeIdGenerator.MAX_NODE_ID);
+            nodeId = 0;
+        }
+        return new SnowflakeIdGenerator(nodeId);
+    }
+}
@@ -0,0 +1,54 @@
+package com.jyami.config;
+
+import com.jyami.repository.ReadStatusColdStore;
+import com.jyami.repository.ReadStatusColumnStore;
+import com.jyami.repository.ReadStatusEvictor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ReadStatusConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReadStatusColdStore readStatusColdStore(
+        ReadStatusColumnStore readStatusColumnStore,
+        MeterRegistry meterRegistry,
+        @Value("${discodeit.repository.file.read-status-cold:readstatus-cold}") String dir,
+        @Value("${discodeit.read-status.cold.page-reader-threads:4}") int pageReaderThreads
+    ) {
+        ReadStatusColdStore coldStore = new ReadStatusColdStore(dir, pageReaderThreads);
+        Gauge.builder("readstatus.hot.size", readStatusColumnStore, ReadStatusColumnStore::size)
+            .description("heap 에 있는 read marker 수")
+            .register(meterRegistry);
+        // 같은 id 의 이전 값과 hot 에 다시 올라간 행도 세므로 건수(size)가 아니라 레코드 수로 내보낸다
+        Gauge.builder("readstatus.cold.records", coldStore, ReadStatusColdStore::recordCount)
+            .description("cold tier segment 에 있는 레코드 수 (compact 전의 중복, hot 에 다시 올라간 행 포함)")
+            .register(meterRegistry);
+        return coldStore;
+    }
+
+    // discodeit.read-status.tiering.enabled: true
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "discodeit.read-status.tiering.enabled", havingValue = "true", matchIfMissing = true)
+    public ReadStatusEvictor readStatusEvictor(
+        ReadStatusColumnStore readStatusColumnStore,
+        ReadStatusColdStore readStatusColdStore,
+        MeterRegistry meterRegistry,
+        @Value("${discodeit.read-status.tiering.max-age-days:30}") long maxAgeDays,
+        @Value("${discodeit.read-status.tiering.interval-minutes:10}") long intervalMinutes
+    ) {
+        ReadStatusEvictor evictor = new ReadStatusEvictor(readStatusColumnStore, readStatusColdStore,
+            TimeUnit.DAYS.toMillis(maxAgeDays), TimeUnit.MINUTES.toMillis(intervalMinutes));
+        FunctionCounter.builder("readstatus.evicted", evictor, ReadStatusEvictor::getEvictedTotal)
+            .description("cold tier 로 옮긴 read marker 수")
+            .register(meterRegistry);
+        return evictor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.jyami.controller;
+
+import com.jyami.file.Channel;
+import com.jyami.service.ChannelService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/channels")
+public class ChannelController {
+    private final ChannelService channelService;
+
+    public ChannelController(ChannelService channelService) {
+        this.channelService = channelService;
+    }
+
+    // [CREATE] primary(또는 standalone) 에서만 가능
+    @PostMapping
+    public ResponseEntity<Channel> create(@RequestBody Channel channel) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(channelService.createChannel(channel));
+    }
+
+    // [READ] 전체 조회. replica 에서도 가능
+    @GetMapping
+    public ResponseEntity<List<Channel>> findAll() {
+        return ResponseEntity.ok(channelService.getChannelList());
+    }
+}
@@ -1,6 +1,8 @@
 package com.jyami.controller;
 
+import com.jyami.dto.ReadStatusBatchDto;
 import com.jyami.dto.ReadStatusDto;
+import com.jyami.dto.ReadStatusIdsDto;
 import com.jyami.service.ReadStatusService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -27,4 +29,16 @@ public class ReadStatusController {
     public ResponseEntity<ReadStatusDto> findById(@PathVariable Long id) {
         return ResponseEntity.ok(readStatusService.findById(id));
     }
-}
\ No newline at end of file
+
+    // [READ] 여러 ID 조회 : GET /read?ids=1,2,3
+    @GetMapping(params = "ids")
+    public ResponseEntity<ReadStatusBatchDto> findAllById(@RequestParam long[] ids) {
+        return ResponseEntity.ok(readStatusService.findAllById(ids));
+    }
+
+    // [READ] 여러 ID 조회 : URL 에 담기 어려울 만큼 많으면 body 로 보낸다 {"ids": [1, 2, 3]}
+    @PostMapping("/batch")
+    public ResponseEntity<ReadStatusBatchDto> findAllByIdInBody(@RequestBody ReadStatusIdsDto request) {
+        return ResponseEntity.ok(readStatusService.findAllById(request.ids()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.jyami.controller;
+
+import com.jyami.entity.User;
+import com.jyami.file.Channel;
+import com.jyami.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    // [READ] 이름/이메일 검색. prefix 일치가 먼저, 부분 일치가 뒤에 온다
+    @GetMapping("/users")
+    public ResponseEntity<List<User>> searchUsers(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchService.searchUsers(q, limit));
+    }
+
+    // [READ] 채널 이름 검색
+    @GetMapping("/channels")
+    public ResponseEntity<List<Channel>> searchChannels(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchService.searchChannels(q, limit));
+    }
+}
@@ -0,0 +1,147 @@
+package com.jyami.controller;
+
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.file.StoreSnapshot;
+import com.jyami.service.StoreExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/stores")
+public class StoreExportController {
+
+    // Tomcat 이 응답 뒤에 파일을 소켓으로 바로 보내게 하는 request attribute (FileChannel.transferTo -> sendfile)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StoreExportService storeExportService;
+
+    public StoreExportController(StoreExportService storeExportService) {
+        this.storeExportService = storeExportService;
+    }
+
+    // [EXPORT] 새 스냅샷을 받는다. 응답의 ETag 가 스냅샷 id
+    // 이어받기: ?snapshot={id} (또는 If-Range: "{id}") + Range: bytes={받은 크기}-
+    @GetMapping("/{store}/export")
+    public void export(
+        @PathVariable String store,
+        @RequestParam(required = false) String snapshot,
+        @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+        @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        String snapshotId = snapshot != null ? snapshot : unquote(ifRange);
+        Optional<StoreSnapshot> referenced = Optional.ofNullable(snapshotId)
+            .flatMap(id -> storeExportService.findSnapshot(store, id));
+        if (snapshot != null && referenced.isEmpty()) {
+            throw new LogicException(ErrorCode.SNAPSHOT_NOT_FOUND);
+        }
+        // 클라이언트가 가진 것과 다른 스냅샷이면 Range 를 무시하고 처음부터 보낸다 (이어 붙이면 파일이 깨진다)
+        StoreSnapshot storeSnapshot = referenced.orElseGet(() -> storeExportService.createSnapshot(store));
+        String appliedRange = referenced.isPresent() ? range : null;
+
+        long size = storeSnapshot.size();
+        long start = 0;
+        long end = size; // exclusive
+        if (appliedRange != null) {
+            long[] bounds = parseRange(appliedRange, size);
+            if (bounds == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+            start = bounds[0];
+            end = bounds[1];
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+        }
+        response.setHeader(HttpHeaders.ETAG, "\"" + storeSnapshot.id() + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + storeSnapshot.id() + ".ser\"");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(end - start);
+        if (start == end) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, storeSnapshot.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        // sendfile 을 쓸 수 없는 커넥터(TLS 등)에서는 응답 스트림으로 직접 보낸다
+        try (FileChannel in = FileChannel.open(storeSnapshot.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += in.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    // [IMPORT] export 로 받은 파일로 저장소를 교체한다. 새 인스턴스를 띄울 때 사용 (discodeit.export.import-enabled: true 일 때만)
+    @PutMapping(value = "/{store}/import", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> importStore(@PathVariable String store, HttpServletRequest request) throws IOException {
+        storeExportService.importStore(store, request.getInputStream());
+        return ResponseEntity.noContent().build();
+    }
+
+    // "bytes=a-b", "bytes=a-", "bytes=-n" 한 구간만 지원한다. [start, end) 를 돌려주고 만족할 수 없으면 null
+    private static long[] parseRange(String range, long size) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                start = Math.max(0, size - suffix);
+                end = size;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size : Math.min(size, Long.parseLong(last) + 1);
+            }
+            if (start < 0 || start >= end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String unquote(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        String value = etag.startsWith("W/") ? etag.substring(2) : etag;
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+            ? value.substring(1, value.length() - 1)
+            : value;
+    }
+}
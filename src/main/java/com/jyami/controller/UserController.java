@@ -0,0 +1,37 @@
+package com.jyami.controller;
+
+import com.jyami.dto.UserDto;
+import com.jyami.entity.User;
+import com.jyami.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/users")
+public class UserController {
+    private final UserService userService;
+
+    public UserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    // [CREATE] 만든 유저는 바로 /search/users 로 검색된다
+    @PostMapping
+    public ResponseEntity<User> create(@RequestBody UserDto userDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(userService.create(userDto));
+    }
+
+    // [UPDATE]
+    @PutMapping("/{id}")
+    public ResponseEntity<User> update(@PathVariable long id, @RequestBody UserDto userDto) {
+        return ResponseEntity.ok(userService.update(id, userDto));
+    }
+
+    // [DELETE]
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable long id) {
+        userService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
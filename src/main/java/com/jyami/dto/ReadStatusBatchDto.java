@@ -0,0 +1,13 @@
+package com.jyami.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import java.util.List;
+
+// 여러 건 조회 결과. 없는 id 는 예외 대신 missingIds 로 알려준다
+public record ReadStatusBatchDto(
+    List<ReadStatusDto> found,
+    @JsonSerialize(contentUsing = ToStringSerializer.class)
+    List<Long> missingIds) {
+}
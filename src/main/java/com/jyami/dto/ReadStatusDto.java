@@ -1,12 +1,18 @@
 package com.jyami.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import java.time.LocalDateTime;
 
+// id 는 2^53 을 넘으므로 JS 에서 잘리지 않도록 문자열로 내보낸다. 요청에서는 숫자와 문자열 모두 받는다
 public record ReadStatusDto(
+    @JsonSerialize(using = ToStringSerializer.class)
     long id,
+    @JsonSerialize(using = ToStringSerializer.class)
     long userId,
+    @JsonSerialize(using = ToStringSerializer.class)
     long channelId,
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     LocalDateTime lastReadAt) {
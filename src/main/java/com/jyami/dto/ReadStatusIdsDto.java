@@ -0,0 +1,5 @@
+package com.jyami.dto;
+
+// ids 는 문자열("123")로 보내도 된다. JS 클라이언트는 2^53 을 넘는 id 를 숫자로 보내면 값이 바뀐다
+public record ReadStatusIdsDto(long[] ids) {
+}
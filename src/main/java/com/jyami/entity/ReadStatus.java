@@ -3,6 +3,9 @@ package com.jyami.entity;
 import java.time.LocalDateTime;
 
 public class ReadStatus {
+    // lastReadAt 을 UTC epoch second(long)로 저장하는 곳에서 값이 없음을 나타낸다
+    public static final long NO_LAST_READ_AT = Long.MIN_VALUE;
+
     private final long id;
     private final long userId;
     private final long channelId;
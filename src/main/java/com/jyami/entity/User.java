@@ -1,6 +1,10 @@
 package com.jyami.entity;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 public class User {
+    @JsonSerialize(using = ToStringSerializer.class) // JS 에서 잘리지 않도록 문자열로 내보낸다
     private final Long id;
     private String name;
     private String email;
@@ -10,9 +10,19 @@ public enum ErrorCode {
 
     UNAUTHORIZED(401, "005", "권한이 없습니다."),
 
+    // 403 FORBIDDEN
+    READ_ONLY_REPLICA(403, "008", "읽기 전용 복제본에서는 변경할 수 없습니다."),
+    IMPORT_DISABLED(403, "011", "저장소 import 가 꺼져 있습니다."),
+
+    // 404 NOT_FOUND
+    SNAPSHOT_NOT_FOUND(404, "010", "스냅샷이 없거나 만료되었습니다. 처음부터 다시 받아주세요."),
+
     // 500 server error
     INTERNAL_SERVER_ERROR(500, "006", "Internal Server Error"),
-    UNEXPECTED_ERROR(500, "007", "예상치 못한 에러");
+    UNEXPECTED_ERROR(500, "007", "예상치 못한 에러"),
+
+    // 503 SERVICE_UNAVAILABLE
+    SERVICE_OVERLOADED(503, "009", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
 
     private final int httpStatus;
     private final String code;
@@ -3,6 +3,7 @@ package com.jyami.error;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +23,11 @@ public class GlobalHandler {
         ErrorCode code = e.getErrorCode();
 //        String globalMessage = messageSource.getMessage("error.xxx", null, code.getMessage(), null);
 
+        if (code == ErrorCode.SERVICE_OVERLOADED) {
+            return ResponseEntity.status(code.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(code));
+        }
         return ResponseEntity.status(code.getHttpStatus())
             .body(new ErrorResponse(code));
     }
@@ -0,0 +1,10 @@
+package com.jyami.file;
+
+import java.util.UUID;
+
+/**
+ * 채널 저장소의 변경 로그 한 건.
+ * sequence 는 primary 에서 변경이 일어난 순서, timestamp 는 primary 에서 반영된 시각(ms)이다.
+ */
+public record ChannelMutation(long sequence, long timestamp, UUID channelId, Channel channel) {
+}
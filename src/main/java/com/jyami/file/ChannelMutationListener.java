@@ -0,0 +1,14 @@
+package com.jyami.file;
+
+/**
+ * 채널 저장소 변경 알림.
+ * 저장소 락을 잡은 채로 호출되므로 오래 걸리는 작업을 하면 안 된다.
+ */
+public interface ChannelMutationListener {
+
+    void onMutation(ChannelMutation mutation);
+
+    // 스냅샷으로 저장소 전체가 교체되었을 때
+    default void onReset(ChannelSnapshot snapshot) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.jyami.file;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 특정 sequence 시점의 채널 저장소 전체 상태.
+ */
+public record ChannelSnapshot(long sequence, Map<UUID, Channel> channels) {
+}
@@ -1,52 +1,217 @@
 package com.jyami.file;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputFilter;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class FileChannelRepository {
-    private final String fileName = "channel.ser";
+public class FileChannelRepository implements PersistedStore {
+    // 채널 저장 파일이 담을 수 있는 최대 채널 수. 역직렬화 한도는 이 값을 기준으로 잡는다
+    static final int MAX_CHANNELS = 1_000_000;
+    // 외부에서 받은 파일(import)도 읽으므로 역직렬화할 수 있는 클래스와 크기를 제한한다.
+    // Map$Entry 는 HashMap 이 버킷 배열 크기를 검사할 때 쓰이고, maxarray 가 조작된 용량으로 큰 배열을 만드는 것을 막는다.
+    // 버킷 수 2^21 은 MAX_CHANNELS 개를 load factor 0.75 로 담는 크기이고, 채널 하나는 UUID, Channel, String 세 객체다.
+    private static final ObjectInputFilter CHANNEL_FILE_FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=5;maxarray=" + (1 << 21)
+            + ";maxrefs=" + (MAX_CHANNELS * 3L + 16)
+            + ";maxbytes=" + 256L * 1024 * 1024
+            + ";java.util.HashMap;java.util.Map$Entry;java.util.UUID;com.jyami.file.Channel;!*");
+
+    private final Path file;
+    private final Path tempFile;
     private final Map<UUID, Channel> channelMap;
+    private final List<ChannelMutationListener> listeners = new CopyOnWriteArrayList<>();
+    // 이 프로세스가 마지막으로 반영한 변경 로그 번호. 파일에는 저장하지 않는다.
+    private long sequence;
 
     public FileChannelRepository() {
+        this("channel.ser");
+    }
+
+    public FileChannelRepository(String fileName) {
+        this.file = Path.of(fileName);
+        this.tempFile = Path.of(fileName + ".tmp");
         this.channelMap = loadChannelList();
     }
 
-    public void addChannel(Channel channel) {
-        channelMap.put(UUID.randomUUID(), channel);
-        saveChannelList();
+    public synchronized void addChannel(Channel channel) {
+        UUID channelId = UUID.randomUUID();
+        putAndSave(channelId, channel);
+        publish(new ChannelMutation(++sequence, System.currentTimeMillis(), channelId, channel));
+    }
+
+    /**
+     * primary 에서 받은 변경 로그를 반영한다. 이미 반영한 sequence 는 무시한다.
+     */
+    public synchronized void applyMutation(ChannelMutation mutation) {
+        if (mutation.sequence() <= sequence) {
+            return;
+        }
+        putAndSave(mutation.channelId(), mutation.channel());
+        sequence = mutation.sequence();
+        publish(mutation);
+    }
+
+    public synchronized ChannelSnapshot snapshot() {
+        return new ChannelSnapshot(sequence, new HashMap<>(channelMap));
+    }
+
+    /**
+     * 저장소 전체를 스냅샷으로 교체한다. 변경 로그로 따라잡을 수 없을 만큼 뒤처진 replica 에서 사용한다.
+     */
+    public synchronized void restore(ChannelSnapshot snapshot) {
+        Map<UUID, Channel> previous = new HashMap<>(channelMap);
+        channelMap.clear();
+        channelMap.putAll(snapshot.channels());
+        try {
+            saveChannelList();
+        } catch (RuntimeException e) {
+            channelMap.clear();
+            channelMap.putAll(previous);
+            throw e;
+        }
+        reset(snapshot);
+    }
+
+    /**
+     * export 로 받은 파일로 저장소 전체를 교체한다. source 는 저장 파일과 같은 디렉터리에 있어야 하고, 성공하면 저장 파일로 옮겨진다.
+     * 변경 번호는 계속 증가시켜서 replica 가 스냅샷부터 다시 받게 한다.
+     *
+     * @throws IllegalArgumentException source 가 채널 저장 파일이 아닌 경우
+     */
+    @Override
+    public synchronized void importFrom(Path source) throws IOException {
+        Map<UUID, Channel> imported;
+        try {
+            imported = readChannelMap(source);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("채널 저장 파일이 아닙니다.", e);
+        }
+        Files.move(source, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channelMap.clear();
+        channelMap.putAll(imported);
+        reset(new ChannelSnapshot(sequence + 1, new HashMap<>(imported)));
+    }
+
+    @Override
+    public String getStoreName() {
+        return "channel";
+    }
+
+    /**
+     * 저장 파일은 항상 완전한 상태다 (saveChannelList 가 임시 파일에 쓴 뒤 원자적으로 교체한다).
+     * 그래서 이 경로를 연 쪽은 lock 없이도 한 시점의 내용을 끝까지 읽을 수 있다.
+     */
+    @Override
+    public synchronized Path getFile() {
+        if (Files.notExists(file)) {
+            saveChannelList();
+        }
+        return file;
+    }
+
+    /**
+     * 리스너를 등록하고 등록 시점의 스냅샷을 돌려준다.
+     * 반환된 스냅샷 이후의 변경만 리스너로 전달되므로 누락이나 중복이 없다.
+     */
+    public synchronized ChannelSnapshot subscribe(ChannelMutationListener listener) {
+        listeners.add(listener);
+        return snapshot();
     }
 
-    public List<Channel> getChannelList() {
+    public void unsubscribe(ChannelMutationListener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public synchronized List<Channel> getChannelList() {
         return List.copyOf(channelMap.values());
     }
 
-    public void saveChannelList() {
-        try (FileOutputStream fos = new FileOutputStream(fileName);
-             ObjectOutputStream oos = new ObjectOutputStream(fos)) {
+    public synchronized void saveChannelList() {
+        // 제자리에 덮어쓰면 파일을 읽는 쪽(export)이 쓰다 만 내용을 볼 수 있어서, 임시 파일에 쓰고 교체한다
+        try (OutputStream os = Files.newOutputStream(tempFile);
+             ObjectOutputStream oos = new ObjectOutputStream(os)) {
             oos.writeObject(channelMap);
         } catch (IOException e) {
             throw new RuntimeException("데이터를 저장하는데 실패했습니다.", e);
         }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("데이터를 저장하는데 실패했습니다.", e);
+        }
     }
 
     public Map<UUID, Channel> loadChannelList() {
-        try (FileInputStream fis = new FileInputStream(fileName);
-             ObjectInputStream ois = new ObjectInputStream(fis)) {
-            Object channelMap = ois.readObject();
-            return (Map<UUID, Channel>) channelMap;
-        } catch (FileNotFoundException e) {
+        try {
+            return readChannelMap(file);
+        } catch (NoSuchFileException e) {
             return new HashMap<>();
         } catch (IOException | ClassNotFoundException e) {
             throw new RuntimeException("데이터를 불러오는데 실패했습니다", e);
         }
     }
 
+    private static Map<UUID, Channel> readChannelMap(Path path) throws IOException, ClassNotFoundException {
+        try (InputStream is = Files.newInputStream(path);
+             ObjectInputStream ois = new ObjectInputStream(is)) {
+            ois.setObjectInputFilter(CHANNEL_FILE_FILTER);
+            Object channelMap = ois.readObject();
+            if (!(channelMap instanceof HashMap<?, ?> map)) {
+                throw new InvalidObjectException("채널 목록이 아닙니다.");
+            }
+            // 제네릭 타입은 파일에 남지 않으므로 key / value 를 직접 확인한다
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof UUID) || !(entry.getValue() instanceof Channel)) {
+                    throw new InvalidObjectException("채널 목록이 아닙니다.");
+                }
+            }
+            return (Map<UUID, Channel>) map;
+        }
+    }
+
+    // 저장에 실패하면 메모리도 되돌린다. 파일에 없고 변경 로그로도 나가지 않은 변경이 남으면 replica 와 어긋난다
+    private void putAndSave(UUID channelId, Channel channel) {
+        Channel previous = channelMap.put(channelId, channel);
+        try {
+            saveChannelList();
+        } catch (RuntimeException e) {
+            if (previous == null) {
+                channelMap.remove(channelId);
+            } else {
+                channelMap.put(channelId, previous);
+            }
+            throw e;
+        }
+    }
+
+    private void reset(ChannelSnapshot snapshot) {
+        sequence = snapshot.sequence();
+        for (ChannelMutationListener listener : listeners) {
+            listener.onReset(snapshot);
+        }
+    }
+
+    private void publish(ChannelMutation mutation) {
+        for (ChannelMutationListener listener : listeners) {
+            listener.onMutation(mutation);
+        }
+    }
+
 }
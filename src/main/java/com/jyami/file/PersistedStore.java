@@ -0,0 +1,25 @@
+package com.jyami.file;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 파일 하나로 저장되는 저장소. export / import 대상이 된다 (StoreExportService).
+ * 지금은 FileChannelRepository 뿐이고, user / message 파일 저장소도 이 인터페이스를 구현하면 같은 경로로 내보낼 수 있다.
+ */
+public interface PersistedStore {
+
+    // URL 에 쓰이는 이름 (/stores/{storeName}/export)
+    String getStoreName();
+
+    /**
+     * 현재 저장 파일. 쓰기는 임시 파일 + 원자적 교체로만 해야 한다.
+     * 그래야 이 파일을 열거나 하드 링크를 건 쪽이 쓰기를 막지 않고도 일관된 내용을 얻는다.
+     */
+    Path getFile();
+
+    /**
+     * source 파일로 저장소 전체를 교체한다. source 는 getFile() 과 같은 디렉터리에 있다.
+     */
+    void importFrom(Path source) throws IOException;
+}
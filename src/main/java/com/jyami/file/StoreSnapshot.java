@@ -0,0 +1,9 @@
+package com.jyami.file;
+
+import java.nio.file.Path;
+
+/**
+ * export 용으로 고정해 둔 저장 파일. 이어받기(Range) 요청은 같은 id 의 스냅샷에서 계속 읽는다.
+ */
+public record StoreSnapshot(String id, String storeName, Path file, long size, long createdAt) {
+}
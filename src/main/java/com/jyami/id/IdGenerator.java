@@ -0,0 +1,9 @@
+package com.jyami.id;
+
+/**
+ * 엔티티 ID 발급기.
+ * 여러 인스턴스에서 동시에 발급해도 충돌하지 않는 ID를 돌려주어야 한다.
+ */
+public interface IdGenerator {
+    long nextId();
+}
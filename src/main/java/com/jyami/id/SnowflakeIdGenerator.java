@@ -0,0 +1,134 @@
+package com.jyami.id;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake 방식의 ID 발급기.
+ *
+ * <pre>
+ * | 0 | timestamp (41bit) | node (6bit) | stripe (4bit) | sequence (12bit) |
+ * </pre>
+ *
+ * - timestamp : {@link #EPOCH} 기준 밀리초. 대략적인 시간 순서를 보장한다.
+ * - node      : 인스턴스 번호. 인스턴스 간 충돌을 막는다.
+ * - stripe    : 스레드별로 배정되는 슬롯. 스레드마다 자기 stripe 의 sequence 만 증가시키므로
+ *               AtomicLong 하나에 모든 스레드가 CAS 를 거는 병목이 없다.
+ * - sequence  : 같은 밀리초 안에서 stripe 별로 증가하는 값.
+ *
+ * stripe 의 상태(마지막 timestamp 와 sequence)는 long 하나로 묶어 CAS 로 바꾸므로 발급할 때 lock 을 잡지 않는다.
+ * stripe 상태는 STATE_STRIDE 간격으로 떨어뜨려 두어 서로 다른 cache line 에 있다. 이웃 stripe 를 쓰는 스레드끼리 line 을 주고받지 않는다.
+ * stripe 는 노드 당 16개이므로 스레드가 16개를 넘으면 일부 스레드가 stripe 를 공유한다.
+ * 이 경우에도 CAS 가 겹치는 범위는 해당 stripe 로 제한된다.
+ *
+ * 발급한 ID는 2^53 보다 크므로 JSON 으로 내보낼 때는 문자열로 직렬화해야 JS 클라이언트에서 값이 바뀌지 않는다.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    // 2025-01-01T00:00:00Z
+    public static final long EPOCH = 1735689600000L;
+
+    static final int NODE_BITS = 6;
+    static final int STRIPE_BITS = 4;
+    static final int SEQUENCE_BITS = 12;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    static final int STRIPE_COUNT = 1 << STRIPE_BITS;
+    static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    static final int STRIPE_SHIFT = SEQUENCE_BITS;
+    static final int NODE_SHIFT = SEQUENCE_BITS + STRIPE_BITS;
+    static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + STRIPE_BITS + NODE_BITS;
+
+    // sequence 를 다 쓰면 다음 밀리초를 미리 당겨 쓴다. 실제 시간보다 이 이상 앞서가면 시계를 기다린다.
+    static final long MAX_DRIFT_MILLIS = 100;
+
+    // long 16개 = 128 bytes. 64 byte line 두 개를 건너뛰어 인접 line prefetch 로 생기는 false sharing 도 피한다
+    private static final int STATE_STRIDE = 16;
+    // 아직 발급하지 않은 stripe 의 상태: timestamp -1, sequence 0
+    private static final long INITIAL_STATE = -1L << SEQUENCE_BITS;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // stripe i 의 상태는 (i + 1) * STATE_STRIDE 에 둔다. 앞쪽 한 칸은 배열 헤더나 다른 객체와 line 을 나누지 않기 위한 padding
+    private final AtomicLongArray states = new AtomicLongArray((STRIPE_COUNT + 1) * STATE_STRIDE);
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    // stripe 배정은 스레드 당 최초 1회만 일어난다.
+    private final ThreadLocal<Stripe> currentStripe = ThreadLocal.withInitial(this::assignStripe);
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << NODE_SHIFT;
+        this.clock = clock;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe(i);
+            states.set(stripes[i].slot, INITIAL_STATE);
+        }
+    }
+
+    @Override
+    public long nextId() {
+        return currentStripe.get().next();
+    }
+
+    private Stripe assignStripe() {
+        return stripes[nextStripe.getAndIncrement() & (STRIPE_COUNT - 1)];
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> NODE_SHIFT) & MAX_NODE_ID);
+    }
+
+    // 읽기만 하는 stripe 정보. 바뀌는 상태는 states 의 slot 에 있다
+    private final class Stripe {
+        private final int slot;
+        private final long stripeBits;
+
+        private Stripe(int index) {
+            this.slot = (index + 1) * STATE_STRIDE;
+            this.stripeBits = (long) index << STRIPE_SHIFT;
+        }
+
+        // 상태는 (timestamp << SEQUENCE_BITS) | sequence
+        long next() {
+            while (true) {
+                long state = states.get(slot);
+                long lastTimestamp = state >> SEQUENCE_BITS;
+                long now = clock.getAsLong() - EPOCH;
+                long updated;
+                if (now > lastTimestamp) {
+                    updated = now << SEQUENCE_BITS;
+                } else if ((state & MAX_SEQUENCE) < MAX_SEQUENCE) {
+                    // 같은 밀리초이거나 시계가 뒤로 간 경우: 마지막 timestamp 를 그대로 사용한다.
+                    updated = state + 1;
+                } else {
+                    updated = nextTimestamp(lastTimestamp, now) << SEQUENCE_BITS;
+                }
+                if (states.compareAndSet(slot, state, updated)) {
+                    return ((updated >> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | nodeBits | stripeBits | (updated & MAX_SEQUENCE);
+                }
+            }
+        }
+
+        private long nextTimestamp(long lastTimestamp, long now) {
+            long next = lastTimestamp + 1;
+            while (next - now > MAX_DRIFT_MILLIS) {
+                Thread.onSpinWait();
+                now = clock.getAsLong() - EPOCH;
+            }
+            return next;
+        }
+    }
+}
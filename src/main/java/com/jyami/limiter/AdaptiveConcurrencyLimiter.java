@@ -0,0 +1,136 @@
+package com.jyami.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 응답 시간 변화(gradient)를 보고 동시 처리 한도를 조절하는 limiter.
+ *
+ * 부하가 없을 때의 응답 시간(noLoadRtt, 구간 평균의 최솟값)과 최근 구간의 평균 응답 시간(rtt)을 비교해서
+ * 최근이 느려지면 한도를 줄이고, 비슷하면 sqrt(limit) 만큼씩 늘린다.
+ *
+ * <pre>
+ * gradient = clamp(TOLERANCE * noLoadRtt / rtt, 0.5, 1.0)
+ * newLimit = limit * gradient + sqrt(limit)
+ * </pre>
+ *
+ * 늘릴 때는 {@link #SMOOTHING} 비율만 반영해서 천천히 늘리고, 줄일 때는 newLimit 을 그대로 쓴다.
+ * 그래서 느려지면 한 구간에 최대 절반(limit * 0.5 + sqrt(limit))까지 바로 줄어든다.
+ *
+ * 저장소가 계속 느린 상태로 바뀐 경우를 위해 noLoadRtt 는 {@link #RTT_RESET_WINDOWS} 구간마다 다시 잰다.
+ *
+ * 한도를 넘는 요청은 기다리지 않고 바로 거절한다. 디스크가 느려져도 요청이 쌓이지 않고,
+ * 받아들인 요청의 지연 시간은 한도 안에서 유지된다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // 최근 응답 시간이 noLoadRtt 의 1.5배까지는 정상으로 본다
+    static final double TOLERANCE = 1.5;
+    static final double SMOOTHING = 0.2; // 한도를 늘릴 때만 적용한다
+    static final int MIN_WINDOW_SAMPLES = 10;
+    static final int RTT_RESET_WINDOWS = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // 아래는 this 로 동기화
+    private double estimatedLimit;
+    private double noLoadRtt;
+    private int windowsSinceReset;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowMillis) {
+        this(initialLimit, minLimit, maxLimit, windowMillis, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowMillis, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowMillis * 1_000_000;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * 자리가 있으면 차지하고 시작 시각(ns)을 돌려준다. 한도를 넘으면 -1.
+     */
+    public long tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return nanoClock.getAsLong();
+            }
+        }
+    }
+
+    /**
+     * tryAcquire 로 받은 시작 시각을 넘겨 자리를 반납하고 응답 시간을 기록한다.
+     */
+    public void release(long startNanos) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        onSample(nanoClock.getAsLong() - startNanos, inFlightAtEnd);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtEnd) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtEnd);
+
+        long now = nanoClock.getAsLong();
+        if (now - windowStart < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        double rtt = (double) windowRttSum / windowSamples;
+        updateLimit(rtt, windowMaxInFlight);
+
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+
+    private void updateLimit(double rtt, int maxInFlight) {
+        if (++windowsSinceReset > RTT_RESET_WINDOWS) {
+            noLoadRtt = 0;
+            windowsSinceReset = 0;
+        }
+        if (noLoadRtt == 0 || rtt < noLoadRtt) {
+            noLoadRtt = rtt;
+        }
+        // 한도의 절반도 쓰지 않았다면 응답 시간으로 한도를 판단할 근거가 부족하다
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * noLoadRtt / rtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        if (newLimit > estimatedLimit) {
+            newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,84 @@
+package com.jyami.limiter;
+
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 컨트롤러 메소드(endpoint) 마다 {@link AdaptiveConcurrencyLimiter} 를 두고,
+ * 한도를 넘는 요청은 컨트롤러에 들어가기 전에 503 으로 거절한다.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowMillis;
+
+    public ConcurrencyLimitInterceptor(MeterRegistry meterRegistry, int initialLimit, int minLimit, int maxLimit, long windowMillis) {
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true; // 정적 리소스 등은 제한하지 않는다
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(endpointName(handlerMethod), this::createEndpoint);
+        long start = endpoint.limiter.tryAcquire();
+        if (start < 0) {
+            endpoint.rejected.increment();
+            throw new LogicException(ErrorCode.SERVICE_OVERLOADED);
+        }
+        request.setAttribute(START_ATTRIBUTE, start);
+        request.setAttribute(LIMITER_ATTRIBUTE, endpoint.limiter);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object limiter = request.getAttribute(LIMITER_ATTRIBUTE);
+        if (limiter != null) {
+            ((AdaptiveConcurrencyLimiter) limiter).release((Long) request.getAttribute(START_ATTRIBUTE));
+        }
+    }
+
+    private static String endpointName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    private Endpoint createEndpoint(String name) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, windowMillis);
+        Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .tag("endpoint", name)
+            .register(meterRegistry);
+        Gauge.builder("http.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .tag("endpoint", name)
+            .register(meterRegistry);
+        Counter rejected = Counter.builder("http.concurrency.rejected")
+            .tag("endpoint", name)
+            .register(meterRegistry);
+        return new Endpoint(limiter, rejected);
+    }
+
+    private record Endpoint(AdaptiveConcurrencyLimiter limiter, Counter rejected) {
+    }
+}
@@ -5,6 +5,9 @@ import com.jyami.entity.ReadStatus;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
 @Mapper(componentModel = "spring")
 public interface ReadStatusMapper {
 
@@ -14,4 +17,18 @@ public interface ReadStatusMapper {
     // DTO → Entity 변환 (필요한 경우)
     @Mapping(target = "id", ignore = true) // ID는 자동 생성되므로 무시
     ReadStatus toEntity(ReadStatusDto dto);
+
+    // ReadStatusColumnStore 의 한 행 → DTO 변환 (ReadStatusColumnStore.RowMapper 로 넘긴다)
+    default ReadStatusDto toDto(long id, long userId, long channelId, long lastReadAt) {
+        return new ReadStatusDto(id, userId, channelId, toLocalDateTime(lastReadAt));
+    }
+
+    // 저장소에는 UTC 기준 epoch second 로 넣는다. 초 미만은 버린다 (응답 형식도 초 단위)
+    default long toEpochSecond(LocalDateTime lastReadAt) {
+        return lastReadAt == null ? ReadStatus.NO_LAST_READ_AT : lastReadAt.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    default LocalDateTime toLocalDateTime(long epochSecond) {
+        return epochSecond == ReadStatus.NO_LAST_READ_AT ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
 }
@@ -0,0 +1,261 @@
+package com.jyami.replication;
+
+import com.jyami.file.ChannelMutation;
+import com.jyami.file.ChannelMutationListener;
+import com.jyami.file.ChannelSnapshot;
+import com.jyami.file.FileChannelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채널 저장소의 변경 로그를 TCP 로 replica 에게 보내는 쪽.
+ *
+ * 최근 변경 로그 {@code backlogSize} 건을 메모리에 들고 있다가, 재접속한 replica 가
+ * 그 범위 안에 있으면 빠진 로그만 보내고 범위를 벗어나면 스냅샷 전체를 보낸다.
+ * replica 가 느려서 전송 큐가 가득 차면 연결을 끊고, replica 는 재접속해서 다시 따라잡는다.
+ *
+ * 접속한 쪽을 인증하지 않고 채널 저장소 전체를 보내므로 기본으로는 loopback 에만 bind 한다.
+ * 다른 호스트의 replica 를 받으려면 내부망 주소를 {@code bindAddress} 로 지정한다.
+ */
+public class ChannelReplicationPrimary implements ChannelMutationListener, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelReplicationPrimary.class);
+    private static final int SEND_QUEUE_CAPACITY = 10_000;
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 1_000;
+
+    private final FileChannelRepository repository;
+    private final String bindAddress;
+    private final int port;
+    private final int backlogSize;
+    // primary 가 재시작되면 sequence 가 처음부터 다시 시작하므로, 이전 실행의 sequence 와 구분하기 위한 값
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final ArrayDeque<ChannelMutation> backlog = new ArrayDeque<>();
+    private final Set<ReplicaConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong snapshotResyncs = new AtomicLong();
+    private final AtomicLong backlogResyncs = new AtomicLong();
+
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ChannelReplicationPrimary(FileChannelRepository repository, int port, int backlogSize) {
+        this(repository, InetAddress.getLoopbackAddress().getHostAddress(), port, backlogSize);
+    }
+
+    public ChannelReplicationPrimary(FileChannelRepository repository, String bindAddress, int port, int backlogSize) {
+        this.repository = repository;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.backlogSize = backlogSize;
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getByName(bindAddress));
+        running = true;
+        repository.subscribe(this);
+
+        Thread acceptThread = new Thread(this::acceptLoop, "replication-primary-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        logger.info("Channel replication primary listening on {}:{}", bindAddress, getLocalPort());
+    }
+
+    public int getLocalPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getReplicaCount() {
+        return connections.size();
+    }
+
+    /**
+     * 접속한 replica 에게 스냅샷 전체를 보낸 횟수.
+     */
+    public long getSnapshotResyncs() {
+        return snapshotResyncs.get();
+    }
+
+    /**
+     * 재접속한 replica 를 backlog 의 변경 로그만으로 따라잡게 한 횟수.
+     */
+    public long getBacklogResyncs() {
+        return backlogResyncs.get();
+    }
+
+    @Override
+    public synchronized void onMutation(ChannelMutation mutation) {
+        backlog.addLast(mutation);
+        if (backlog.size() > backlogSize) {
+            backlog.removeFirst();
+        }
+    }
+
+    @Override
+    public synchronized void onReset(ChannelSnapshot snapshot) {
+        backlog.clear();
+    }
+
+    /**
+     * (after, upTo] 범위의 변경 로그. backlog 로 이 범위를 채울 수 없으면 null.
+     */
+    private synchronized List<ChannelMutation> backlogBetween(long after, long upTo) {
+        List<ChannelMutation> mutations = new ArrayList<>();
+        if (after == upTo) {
+            return mutations;
+        }
+        ChannelMutation first = backlog.peekFirst();
+        if (first == null || first.sequence() > after + 1) {
+            return null;
+        }
+        for (ChannelMutation mutation : backlog) {
+            if (mutation.sequence() > upTo) {
+                break;
+            }
+            if (mutation.sequence() > after) {
+                mutations.add(mutation);
+            }
+        }
+        return mutations;
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                ReplicaConnection connection = new ReplicaConnection(socket);
+                connections.add(connection);
+                Thread thread = new Thread(connection, "replication-primary-" + socket.getRemoteSocketAddress());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Failed to accept replica connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // replica 와의 연결만 끊는다. replica 는 재접속해서 마지막으로 반영한 sequence 부터 따라잡는다
+    void disconnectReplicas() {
+        for (ReplicaConnection connection : connections) {
+            connection.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        repository.unsubscribe(this);
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (ReplicaConnection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private class ReplicaConnection implements Runnable, ChannelMutationListener {
+        private final Socket socket;
+        private final BlockingQueue<ChannelMutation> sendQueue = new ArrayBlockingQueue<>(SEND_QUEUE_CAPACITY);
+        private volatile boolean overflowed;
+
+        private ReplicaConnection(Socket socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public void onMutation(ChannelMutation mutation) {
+            // 저장소 락 안에서 호출되므로 절대 블로킹하지 않는다
+            if (!sendQueue.offer(mutation)) {
+                overflowed = true;
+            }
+        }
+
+        @Override
+        public void onReset(ChannelSnapshot snapshot) {
+            overflowed = true; // 스냅샷부터 다시 받도록 연결을 끊는다
+        }
+
+        @Override
+        public void run() {
+            try (socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+                if (in.readInt() != ReplicationProtocol.MAGIC) {
+                    logger.warn("Unknown replication client {}", socket.getRemoteSocketAddress());
+                    return;
+                }
+                long replicaEpoch = in.readLong();
+                long replicaSequence = in.readLong();
+
+                ChannelSnapshot snapshot = repository.subscribe(this);
+                ReplicationProtocol.writeHello(out, epoch, snapshot.sequence());
+
+                List<ChannelMutation> catchUp = replicaEpoch == epoch && replicaSequence <= snapshot.sequence()
+                    ? backlogBetween(replicaSequence, snapshot.sequence())
+                    : null;
+                if (catchUp == null) {
+                    logger.info("Sending snapshot at sequence {} to {}", snapshot.sequence(), socket.getRemoteSocketAddress());
+                    ReplicationProtocol.writeSnapshot(out, snapshot);
+                    snapshotResyncs.incrementAndGet();
+                } else {
+                    backlogResyncs.incrementAndGet();
+                    for (ChannelMutation mutation : catchUp) {
+                        ReplicationProtocol.writeMutation(out, mutation);
+                    }
+                }
+                out.flush();
+
+                while (running && !overflowed) {
+                    ChannelMutation mutation = sendQueue.poll(HEARTBEAT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (mutation == null) {
+                        ReplicationProtocol.writeHeartbeat(out, repository.getSequence(), System.currentTimeMillis());
+                    } else {
+                        ReplicationProtocol.writeMutation(out, mutation);
+                    }
+                    if (sendQueue.isEmpty()) {
+                        out.flush();
+                    }
+                }
+                if (overflowed) {
+                    logger.warn("Replica {} is too far behind, disconnecting", socket.getRemoteSocketAddress());
+                }
+            } catch (IOException e) {
+                logger.info("Replica {} disconnected: {}", socket.getRemoteSocketAddress(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                repository.unsubscribe(this);
+                connections.remove(this);
+            }
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 이미 닫힌 소켓
+            }
+        }
+    }
+}
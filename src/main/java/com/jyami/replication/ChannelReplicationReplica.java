@@ -0,0 +1,145 @@
+package com.jyami.replication;
+
+import com.jyami.file.ChannelMutation;
+import com.jyami.file.FileChannelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * primary 의 변경 로그를 받아 로컬 채널 저장소에 반영하는 쪽.
+ * 연결이 끊기면 {@code reconnectDelayMillis} 후 다시 접속해서 마지막으로 반영한 sequence 부터 따라잡는다.
+ */
+public class ChannelReplicationReplica implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelReplicationReplica.class);
+    // primary 는 1초마다 heartbeat 를 보내므로 이 시간 동안 아무것도 못 받으면 끊긴 것으로 본다
+    private static final int READ_TIMEOUT_MILLIS = 5_000;
+
+    private final FileChannelRepository repository;
+    private final String host;
+    private final int port;
+    private final long reconnectDelayMillis;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Socket socket;
+    // 0 이면 아직 primary 의 epoch 를 모른다 -> 스냅샷부터 받는다
+    private volatile long epoch;
+    private volatile long primarySequence;
+    private volatile long lagMillis;
+
+    public ChannelReplicationReplica(FileChannelRepository repository, String host, int port, long reconnectDelayMillis) {
+        this.repository = repository;
+        this.host = host;
+        this.port = port;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::followLoop, "replication-replica");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * primary 가 알려준 마지막 sequence 와 로컬에 반영된 sequence 의 차이.
+     */
+    public long getLagSequences() {
+        return Math.max(0, primarySequence - repository.getSequence());
+    }
+
+    /**
+     * 가장 최근에 반영한 변경이 primary 에서 일어난 시각부터 로컬에 반영될 때까지 걸린 시간.
+     * 따라잡은 상태에서 heartbeat 를 받으면 0 이 된다.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    private void followLoop() {
+        while (running) {
+            try {
+                follow();
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Replication from {}:{} interrupted: {}", host, port, e.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            try {
+                Thread.sleep(reconnectDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void follow() throws IOException {
+        try (Socket socket = new Socket()) {
+            this.socket = socket;
+            socket.connect(new InetSocketAddress(host, port), READ_TIMEOUT_MILLIS);
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            out.writeInt(ReplicationProtocol.MAGIC);
+            out.writeLong(epoch);
+            out.writeLong(repository.getSequence());
+            out.flush();
+
+            while (running) {
+                byte type = in.readByte();
+                switch (type) {
+                    case ReplicationProtocol.HELLO -> {
+                        epoch = in.readLong();
+                        primarySequence = in.readLong();
+                        connected = true;
+                    }
+                    case ReplicationProtocol.SNAPSHOT -> {
+                        repository.restore(ReplicationProtocol.readSnapshot(in));
+                        logger.info("Restored channel snapshot at sequence {}", repository.getSequence());
+                    }
+                    case ReplicationProtocol.MUTATION -> {
+                        ChannelMutation mutation = ReplicationProtocol.readMutation(in);
+                        repository.applyMutation(mutation);
+                        primarySequence = Math.max(primarySequence, mutation.sequence());
+                        lagMillis = Math.max(0, System.currentTimeMillis() - mutation.timestamp());
+                    }
+                    case ReplicationProtocol.HEARTBEAT -> {
+                        primarySequence = in.readLong();
+                        in.readLong(); // primary 시각
+                        if (getLagSequences() == 0) {
+                            lagMillis = 0;
+                        }
+                    }
+                    default -> throw new IOException("Unknown replication frame: " + type);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
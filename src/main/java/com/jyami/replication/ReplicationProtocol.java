@@ -0,0 +1,97 @@
+package com.jyami.replication;
+
+import com.jyami.file.Channel;
+import com.jyami.file.ChannelMutation;
+import com.jyami.file.ChannelSnapshot;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * primary - replica 간 TCP 프레임 형식.
+ *
+ * replica -> primary : MAGIC(int), epoch(long), 마지막으로 반영한 sequence(long)
+ * primary -> replica : HELLO 후 SNAPSHOT 또는 따라잡기용 MUTATION, 이후 MUTATION / HEARTBEAT 반복
+ */
+final class ReplicationProtocol {
+
+    static final int MAGIC = 0x4A59524C;
+
+    static final byte HELLO = 'E';
+    static final byte SNAPSHOT = 'S';
+    static final byte MUTATION = 'M';
+    static final byte HEARTBEAT = 'H';
+
+    private ReplicationProtocol() {}
+
+    static void writeHello(DataOutputStream out, long epoch, long sequence) throws IOException {
+        out.writeByte(HELLO);
+        out.writeLong(epoch);
+        out.writeLong(sequence);
+    }
+
+    static void writeHeartbeat(DataOutputStream out, long sequence, long timestamp) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(sequence);
+        out.writeLong(timestamp);
+    }
+
+    static void writeMutation(DataOutputStream out, ChannelMutation mutation) throws IOException {
+        out.writeByte(MUTATION);
+        out.writeLong(mutation.sequence());
+        out.writeLong(mutation.timestamp());
+        writeUuid(out, mutation.channelId());
+        writeChannel(out, mutation.channel());
+    }
+
+    static ChannelMutation readMutation(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        UUID channelId = readUuid(in);
+        return new ChannelMutation(sequence, timestamp, channelId, readChannel(in));
+    }
+
+    static void writeSnapshot(DataOutputStream out, ChannelSnapshot snapshot) throws IOException {
+        out.writeByte(SNAPSHOT);
+        out.writeLong(snapshot.sequence());
+        out.writeInt(snapshot.channels().size());
+        for (Map.Entry<UUID, Channel> entry : snapshot.channels().entrySet()) {
+            writeUuid(out, entry.getKey());
+            writeChannel(out, entry.getValue());
+        }
+    }
+
+    static ChannelSnapshot readSnapshot(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        int size = in.readInt();
+        Map<UUID, Channel> channels = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            channels.put(readUuid(in), readChannel(in));
+        }
+        return new ChannelSnapshot(sequence, channels);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeChannel(DataOutputStream out, Channel channel) throws IOException {
+        out.writeBoolean(channel.name() != null);
+        if (channel.name() != null) {
+            out.writeUTF(channel.name());
+        }
+    }
+
+    private static Channel readChannel(DataInputStream in) throws IOException {
+        return new Channel(in.readBoolean() ? in.readUTF() : null);
+    }
+}
@@ -0,0 +1,216 @@
+package com.jyami.repository;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * long 키를 쓰는 불변(persistent) 해시 트라이.
+ * put/remove 는 원본을 건드리지 않고 바뀐 경로의 노드만 복사한 새 맵을 돌려주므로,
+ * 이전 버전을 들고 있는 reader 는 락 없이 그대로 읽을 수 있다.
+ */
+final class PersistentLongMap<V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = (Long.SIZE + BITS - 1) / BITS;
+    private static final PersistentLongMap<?> EMPTY = new PersistentLongMap<>(Node.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentLongMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentLongMap<V> empty() {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        long hash = hash(key);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[node.index(bit)];
+            if (slot instanceof Leaf leaf) {
+                return leaf.key == key ? (V) leaf.value : null;
+            }
+            node = (Node) slot;
+        }
+    }
+
+    PersistentLongMap<V> put(long key, V value) {
+        int newSize = get(key) == null ? size + 1 : size;
+        return new PersistentLongMap<>(root.put(hash(key), new Leaf(key, value), 0), newSize);
+    }
+
+    PersistentLongMap<V> remove(long key) {
+        if (get(key) == null) {
+            return this;
+        }
+        Node newRoot = root.remove(hash(key), key, 0);
+        return new PersistentLongMap<>(newRoot == null ? Node.EMPTY : newRoot, size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super V> action) {
+        root.forEach(leaf -> action.accept((V) leaf.value));
+    }
+
+    /**
+     * forEach 와 같은 순서로 값을 하나씩 돌려준다. 복사 없이 트라이를 따라가므로 중간에 멈추면 나머지는 보지 않는다.
+     */
+    Iterator<V> iterator() {
+        return new LeafIterator<>(root);
+    }
+
+    // 곱하는 수가 홀수라서 서로 다른 키는 항상 서로 다른 hash 가 된다 (충돌 노드가 필요 없다)
+    private static long hash(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int bit(long hash, int shift) {
+        return 1 << (int) ((hash >>> shift) & MASK);
+    }
+
+    private record Leaf(long key, Object value) {
+    }
+
+    private static final class LeafIterator<V> implements Iterator<V> {
+        // 루트부터 지금 보고 있는 노드까지의 경로와 각 노드에서 다음에 볼 slot 위치
+        private final Node[] nodes = new Node[MAX_DEPTH];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth;
+        private Leaf next;
+
+        private LeafIterator(Node root) {
+            nodes[0] = root;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            V value = (V) next.value;
+            advance();
+            return value;
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Node node = nodes[depth];
+                int position = positions[depth];
+                if (position == node.slots.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth]++;
+                Object slot = node.slots[position];
+                if (slot instanceof Leaf leaf) {
+                    next = leaf;
+                    return;
+                }
+                depth++;
+                nodes[depth] = (Node) slot;
+                positions[depth] = 0;
+            }
+        }
+    }
+
+    private static final class Node {
+        static final Node EMPTY = new Node(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] slots; // Leaf 또는 Node
+
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        Node put(long hash, Leaf leaf, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, index);
+                newSlots[index] = leaf;
+                System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+                return new Node(bitmap | bit, newSlots);
+            }
+            Object slot = slots[index];
+            Object replaced;
+            if (slot instanceof Leaf existing) {
+                replaced = existing.key == leaf.key
+                    ? leaf
+                    : EMPTY.put(hash(existing.key), existing, shift + BITS).put(hash, leaf, shift + BITS);
+            } else {
+                replaced = ((Node) slot).put(hash, leaf, shift + BITS);
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[index] = replaced;
+            return new Node(bitmap, newSlots);
+        }
+
+        // 키가 있다는 것이 보장된 상태에서만 호출한다. 비게 되면 null.
+        Node remove(long hash, long key, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            Object slot = slots[index];
+            if (slot instanceof Node child) {
+                Node newChild = child.remove(hash, key, shift + BITS);
+                Object[] newSlots = slots.clone();
+                // 자식에 Leaf 하나만 남으면 한 단계 위로 끌어올린다
+                if (newChild != null && newChild.slots.length == 1 && newChild.slots[0] instanceof Leaf) {
+                    newSlots[index] = newChild.slots[0];
+                    return new Node(bitmap, newSlots);
+                }
+                if (newChild != null) {
+                    newSlots[index] = newChild;
+                    return new Node(bitmap, newSlots);
+                }
+            }
+            if (slots.length == 1) {
+                return null;
+            }
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            System.arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+            return new Node(bitmap & ~bit, newSlots);
+        }
+
+        void forEach(Consumer<Leaf> action) {
+            for (Object slot : slots) {
+                if (slot instanceof Leaf leaf) {
+                    action.accept(leaf);
+                } else {
+                    ((Node) slot).forEach(action);
+                }
+            }
+        }
+    }
+}
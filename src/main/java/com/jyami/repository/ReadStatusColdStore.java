@@ -0,0 +1,577 @@
+package com.jyami.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * 오래된 ReadStatus 를 두는 디스크 저장소 (cold tier). ReadStatusColumnStore.evictStale 이 옮긴 행을 받는다.
+ *
+ * 한 번 옮길 때마다 id 순으로 정렬된 segment 파일을 하나 만들고 이후로는 고치지 않는다.
+ * 레코드는 long 4개(id, userId, channelId, lastReadAt) 32 bytes 이고, 128개(4 KiB)를 한 page 로 묶는다.
+ * heap 에는 segment 마다 page 별 첫 id 만 두므로 (page 당 8 bytes) 건수가 늘어도 heap 은 거의 늘지 않는다.
+ * 파일 구성: [레코드...][page 별 첫 id...][레코드 수][MAGIC]
+ *
+ * 같은 id 가 여러 segment 에 있으면 최신 segment 의 값이 맞다.
+ * compact 는 크기가 비슷한 최신 segment 가 TIER_WIDTH 개 쌓이면 그것들만 합친다 (size-tiered). 레코드 수를 4배 단위 tier 로 나누므로
+ * 한 레코드가 다시 쓰이는 횟수는 전체 건수의 log4 정도로 묶이고, 오래된 큰 segment 는 같은 크기의 segment 가 쌓일 때까지 그대로 둔다.
+ * 합치는 대상은 항상 최신 쪽부터 이어진 segment 들이라, 합친 segment 에 새 번호를 줘도 최신 segment 가 이기는 규칙이 그대로 맞다.
+ * hot 으로 다시 올라간 행도 hot 은 디스크에 남지 않으므로 cold 의 레코드를 지우지 않는다. 다시 옮겨지면 새 segment 의 값이 이긴다.
+ * 여러 건 조회(getAll)는 id 를 page 별로 묶어 page 를 한 번씩만 읽고, 여러 page 는 pageReaders 에서 동시에 읽는다.
+ */
+public class ReadStatusColdStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadStatusColdStore.class);
+
+    private static final int RECORD_LONGS = 4;
+    private static final int RECORD_BYTES = RECORD_LONGS * Long.BYTES;
+    private static final int PAGE_RECORDS = 128;
+    private static final int PAGE_BYTES = PAGE_RECORDS * RECORD_BYTES;
+    private static final int TRAILER_BYTES = 2 * Long.BYTES;
+    private static final long MAGIC = 0x5253_434F_4C44_0001L; // "RSCOLD" v1
+    private static final int TIER_WIDTH = 4;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path dir;
+    private final ExecutorService pageReaders;
+    private volatile List<Segment> segments; // 최신 segment 가 앞에 온다. 바꿀 때는 통째로 교체한다
+    private long nextSegmentNumber;
+
+    public ReadStatusColdStore(String dir, int pageReaderThreads) {
+        this.dir = Path.of(dir);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pageReaders = Executors.newFixedThreadPool(pageReaderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "read-status-cold-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.segments = loadSegments();
+    }
+
+    /**
+     * 최신 segment 부터 찾는다. 없으면 null.
+     */
+    public <R> R get(long id, ReadStatusColumnStore.RowMapper<R> mapper) {
+        while (true) {
+            List<Segment> current = segments;
+            try {
+                for (Segment segment : current) {
+                    int page = segment.pageOf(id);
+                    if (page < 0) {
+                        continue;
+                    }
+                    long[] records = segment.readPage(page);
+                    int position = find(records, id);
+                    if (position >= 0) {
+                        return mapRecord(records, position, mapper);
+                    }
+                }
+                return null;
+            } catch (ClosedChannelException e) {
+                retryIfCompacted(current, e); // compact 가 읽던 segment 를 닫았으면 새 목록으로 다시 찾는다
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 찾은 행은 mapper 를 거쳐 found 에 담고, 어느 segment 에도 없는 id 는 요청 순서대로 missing 으로 넘긴다.
+     * segment 마다 남은 id 를 page 별로 묶어서 page 들을 동시에 읽는다.
+     */
+    public <R> void getAll(long[] requestedIds, ReadStatusColumnStore.RowMapper<R> mapper, List<R> found, LongConsumer missing) {
+        long[] remaining = requestedIds.clone();
+        int remainingCount = remaining.length;
+        List<long[]> foundRecords = new ArrayList<>();
+        while (true) {
+            List<Segment> current = segments;
+            try {
+                for (Segment segment : current) {
+                    if (remainingCount == 0) {
+                        break;
+                    }
+                    for (long[] record : readGrouped(segment, remaining, remainingCount)) {
+                        foundRecords.add(record);
+                    }
+                    remainingCount = removeFound(remaining, remainingCount, foundRecords);
+                }
+                break;
+            } catch (ClosedChannelException e) {
+                retryIfCompacted(current, e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        for (long[] record : foundRecords) {
+            found.add(mapRecord(record, 0, mapper));
+        }
+        for (int i = 0; i < remainingCount; i++) {
+            missing.accept(remaining[i]);
+        }
+    }
+
+    /**
+     * rows 의 앞 count 개 행(ReadStatusColumnStore.RowSink 형식)을 새 segment 로 쓴다. 파일이 디스크에 쓰인 뒤에 돌아온다.
+     */
+    public synchronized void write(long[] rows, int count) throws IOException {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> rows[i * RECORD_LONGS]));
+
+        try (SegmentWriter writer = new SegmentWriter(nextSegmentNumber++)) {
+            for (int i : order) {
+                writer.add(rows, i * RECORD_LONGS);
+            }
+            Segment segment = writer.finish();
+            List<Segment> updated = new ArrayList<>(segments.size() + 1);
+            updated.add(segment);
+            updated.addAll(segments);
+            segments = List.copyOf(updated);
+        }
+    }
+
+    /**
+     * 합칠 tier 가 없을 때까지 최신 segment 들을 합친다. 같은 id 는 최신 값만 남긴다.
+     */
+    public synchronized void compact() throws IOException {
+        while (true) {
+            List<Segment> current = segments;
+            int run = mergeableRun(current);
+            if (run < 2) {
+                return;
+            }
+            merge(current, run);
+        }
+    }
+
+    /**
+     * segment 에 있는 레코드 수. compact 전에는 여러 segment 에 있는 같은 id 를 모두 세고, hot 에 다시 올라간 행도 센다.
+     */
+    public long recordCount() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.recordCount;
+        }
+        return count;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        pageReaders.shutdownNow();
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    // 가장 낮은 tier 부터, 그 tier 이하 segment 로만 이어진 최신 쪽 구간에 그 tier 의 segment 가 TIER_WIDTH 개 이상이면 구간 길이를 돌려준다
+    private static int mergeableRun(List<Segment> current) {
+        int maxTier = 0;
+        for (Segment segment : current) {
+            maxTier = Math.max(maxTier, segment.tier());
+        }
+        for (int tier = 0; tier <= maxTier; tier++) {
+            int run = 0;
+            int sameTier = 0;
+            while (run < current.size() && current.get(run).tier() <= tier) {
+                if (current.get(run).tier() == tier) {
+                    sameTier++;
+                }
+                run++;
+            }
+            if (sameTier >= TIER_WIDTH) {
+                return run;
+            }
+        }
+        return 0;
+    }
+
+    // current 의 최신 run 개를 하나로 합친다. 새 segment 의 rename 이 디스크에 남은 뒤에 원래 segment 를 지운다
+    private void merge(List<Segment> current, int run) throws IOException {
+        List<Segment> inputs = current.subList(0, run);
+        PriorityQueue<SegmentCursor> queue = new PriorityQueue<>(
+            Comparator.comparingLong(SegmentCursor::id).thenComparing(cursor -> -cursor.segment.number));
+        for (Segment segment : inputs) {
+            SegmentCursor cursor = new SegmentCursor(segment);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        Segment merged;
+        try (SegmentWriter writer = new SegmentWriter(nextSegmentNumber++)) {
+            while (!queue.isEmpty()) {
+                SegmentCursor newest = queue.poll();
+                long id = newest.id();
+                writer.add(newest.records, newest.position);
+                advanceOrDrop(newest, queue);
+                while (!queue.isEmpty() && queue.peek().id() == id) {
+                    advanceOrDrop(queue.poll(), queue); // 같은 id 의 오래된 값
+                }
+            }
+            merged = writer.finish();
+        }
+        List<Segment> updated = new ArrayList<>(current.size() - run + 1);
+        updated.add(merged);
+        updated.addAll(current.subList(run, current.size()));
+        segments = List.copyOf(updated);
+        for (Segment segment : inputs) {
+            segment.close();
+            Files.deleteIfExists(segment.file);
+        }
+        logger.info("Compacted {} cold segments into {} ({} records, {} segments left)",
+            run, merged.file.getFileName(), merged.recordCount, updated.size());
+    }
+
+    // page 하나면 호출한 스레드에서 바로 읽고, 여러 page 면 pageReaders 에서 동시에 읽는다
+    private List<long[]> readGrouped(Segment segment, long[] ids, int count) throws IOException {
+        Map<Integer, List<Long>> idsByPage = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int page = segment.pageOf(ids[i]);
+            if (page >= 0) {
+                idsByPage.computeIfAbsent(page, p -> new ArrayList<>()).add(ids[i]);
+            }
+        }
+        if (idsByPage.isEmpty()) {
+            return List.of();
+        }
+        if (idsByPage.size() == 1) {
+            Map.Entry<Integer, List<Long>> only = idsByPage.entrySet().iterator().next();
+            return readPage(segment, only.getKey(), only.getValue());
+        }
+
+        List<Callable<List<long[]>>> tasks = new ArrayList<>(idsByPage.size());
+        idsByPage.forEach((page, pageIds) -> tasks.add(() -> readPage(segment, page, pageIds)));
+        List<long[]> records = new ArrayList<>();
+        try {
+            for (Future<List<long[]>> future : pageReaders.invokeAll(tasks)) {
+                records.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("cold tier 조회가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+        return records;
+    }
+
+    private static List<long[]> readPage(Segment segment, int page, List<Long> pageIds) throws IOException {
+        long[] records = segment.readPage(page);
+        List<long[]> found = new ArrayList<>(pageIds.size());
+        for (long id : pageIds) {
+            int position = find(records, id);
+            if (position >= 0) {
+                found.add(Arrays.copyOfRange(records, position, position + RECORD_LONGS));
+            }
+        }
+        return found;
+    }
+
+    // 찾은 id 를 빼고 남은 id 를 앞으로 당긴다 (요청 순서 유지)
+    private static int removeFound(long[] remaining, int count, List<long[]> foundRecords) {
+        if (foundRecords.isEmpty()) {
+            return count;
+        }
+        long[] foundIds = new long[foundRecords.size()];
+        for (int i = 0; i < foundIds.length; i++) {
+            foundIds[i] = foundRecords.get(i)[0];
+        }
+        Arrays.sort(foundIds);
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (Arrays.binarySearch(foundIds, remaining[i]) < 0) {
+                remaining[kept++] = remaining[i];
+            }
+        }
+        return kept;
+    }
+
+    // page 안에서 id 를 찾아 레코드 시작 위치(long 단위)를 돌려준다. 없으면 -1
+    private static int find(long[] records, long id) {
+        int low = 0;
+        int high = records.length / RECORD_LONGS - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = records[mid * RECORD_LONGS];
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid * RECORD_LONGS;
+            }
+        }
+        return -1;
+    }
+
+    private static <R> R mapRecord(long[] records, int position, ReadStatusColumnStore.RowMapper<R> mapper) {
+        return mapper.map(records[position], records[position + 1], records[position + 2], records[position + 3]);
+    }
+
+    private void retryIfCompacted(List<Segment> read, ClosedChannelException e) {
+        if (segments == read || e instanceof ClosedByInterruptException) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void advanceOrDrop(SegmentCursor cursor, PriorityQueue<SegmentCursor> queue) throws IOException {
+        if (cursor.advance()) {
+            queue.add(cursor);
+        }
+    }
+
+    private List<Segment> loadSegments() {
+        try {
+            Files.createDirectories(dir);
+            List<Segment> loaded = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(".tmp")) {
+                        Files.delete(file); // 쓰다가 멈춘 segment
+                    } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                        long number = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                        loaded.add(Segment.open(number, file));
+                        nextSegmentNumber = Math.max(nextSegmentNumber, number + 1);
+                    }
+                }
+            }
+            loaded.sort(Comparator.comparingLong((Segment segment) -> segment.number).reversed());
+            return List.copyOf(loaded);
+        } catch (IOException e) {
+            throw new RuntimeException("cold tier 를 불러오는데 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 읽기는 요청 스레드와 pageReaders 에서 channel 하나를 같이 쓴다. 읽던 스레드가 interrupt 되면 FileChannel 이 닫히므로
+     * (ClosedByInterruptException) 다른 스레드는 channel 을 다시 열고 읽는다. close 한 segment 는 다시 열지 않는다.
+     */
+    private static final class Segment implements Closeable {
+        private final long number;
+        private final Path file;
+        private volatile FileChannel channel;
+        private boolean closed; // this 로 보호한다
+        private final long recordCount;
+        private final long[] pageFirstIds;
+        private final long lastId;
+
+        private Segment(long number, Path file, FileChannel channel, long recordCount, long[] pageFirstIds, long lastId) {
+            this.number = number;
+            this.file = file;
+            this.channel = channel;
+            this.recordCount = recordCount;
+            this.pageFirstIds = pageFirstIds;
+            this.lastId = lastId;
+        }
+
+        static Segment open(long number, Path file) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                ByteBuffer trailer = readFully(channel, channel.size() - TRAILER_BYTES, TRAILER_BYTES);
+                long recordCount = trailer.getLong();
+                if (trailer.getLong() != MAGIC) {
+                    throw new IOException("cold segment 파일이 아닙니다: " + file);
+                }
+                int pages = (int) ((recordCount + PAGE_RECORDS - 1) / PAGE_RECORDS);
+                ByteBuffer index = readFully(channel, recordCount * RECORD_BYTES, pages * Long.BYTES);
+                long[] pageFirstIds = new long[pages];
+                index.asLongBuffer().get(pageFirstIds);
+                long lastId = recordCount == 0 ? Long.MIN_VALUE
+                    : readFully(channel, (recordCount - 1) * RECORD_BYTES, Long.BYTES).getLong();
+                return new Segment(number, file, channel, recordCount, pageFirstIds, lastId);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        // 레코드 수 기준 4배 단위 크기 등급 (1~3 건은 0, 4~15 건은 1, ...)
+        int tier() {
+            return (63 - Long.numberOfLeadingZeros(Math.max(1, recordCount))) / 2;
+        }
+
+        // id 가 있을 수 있는 page. 범위 밖이면 -1
+        int pageOf(long id) {
+            if (pageFirstIds.length == 0 || id < pageFirstIds[0] || id > lastId) {
+                return -1;
+            }
+            int page = Arrays.binarySearch(pageFirstIds, id);
+            return page >= 0 ? page : -page - 2;
+        }
+
+        long[] readPage(int page) throws IOException {
+            long first = (long) page * PAGE_RECORDS;
+            int records = (int) Math.min(PAGE_RECORDS, recordCount - first);
+            long[] values = new long[records * RECORD_LONGS];
+            while (true) {
+                FileChannel current = channel;
+                try {
+                    readFully(current, first * RECORD_BYTES, records * RECORD_BYTES).asLongBuffer().get(values);
+                    return values;
+                } catch (ClosedByInterruptException e) {
+                    throw e; // interrupt 된 스레드는 다시 열어도 바로 닫히므로 그대로 끝낸다
+                } catch (ClosedChannelException e) {
+                    reopen(current, e);
+                }
+            }
+        }
+
+        // 다른 스레드의 interrupt 로 닫혔으면 다시 연다. close 된 segment 면 호출한 쪽이 새 segment 목록으로 다시 찾는다
+        private synchronized void reopen(FileChannel stale, ClosedChannelException cause) throws IOException {
+            if (closed) {
+                throw cause;
+            }
+            if (channel == stale) {
+                channel = FileChannel.open(file, StandardOpenOption.READ);
+                logger.warn("Reopened cold segment {} closed by an interrupted reader", file.getFileName());
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close {}", file, e);
+            }
+        }
+
+        private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("cold segment 파일이 잘렸습니다.");
+                }
+            }
+            return buffer.flip();
+        }
+    }
+
+    // compact 에서 segment 를 처음부터 page 단위로 읽는다
+    private static final class SegmentCursor {
+        private final Segment segment;
+        private int page = -1;
+        private long[] records = new long[0];
+        private int position = -RECORD_LONGS;
+
+        SegmentCursor(Segment segment) {
+            this.segment = segment;
+        }
+
+        long id() {
+            return records[position];
+        }
+
+        boolean advance() throws IOException {
+            position += RECORD_LONGS;
+            if (position < records.length) {
+                return true;
+            }
+            if (page + 1 >= segment.pageFirstIds.length) {
+                return false;
+            }
+            records = segment.readPage(++page);
+            position = 0;
+            return true;
+        }
+    }
+
+    // id 순으로 add 된 레코드를 임시 파일에 쓰고, finish 에서 page index 와 trailer 를 붙여 segment 파일로 옮긴다
+    private final class SegmentWriter implements AutoCloseable {
+        private final long number;
+        private final Path tempFile;
+        private final DataOutputStream out;
+        private long[] pageFirstIds = new long[16];
+        private long recordCount;
+        private boolean finished;
+
+        SegmentWriter(long number) throws IOException {
+            this.number = number;
+            this.tempFile = dir.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX + ".tmp");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), PAGE_BYTES * 16));
+        }
+
+        void add(long[] rows, int offset) throws IOException {
+            if (recordCount % PAGE_RECORDS == 0) {
+                int page = (int) (recordCount / PAGE_RECORDS);
+                if (page == pageFirstIds.length) {
+                    pageFirstIds = Arrays.copyOf(pageFirstIds, page * 2);
+                }
+                pageFirstIds[page] = rows[offset];
+            }
+            for (int i = 0; i < RECORD_LONGS; i++) {
+                out.writeLong(rows[offset + i]);
+            }
+            recordCount++;
+        }
+
+        Segment finish() throws IOException {
+            int pages = (int) ((recordCount + PAGE_RECORDS - 1) / PAGE_RECORDS);
+            for (int page = 0; page < pages; page++) {
+                out.writeLong(pageFirstIds[page]);
+            }
+            out.writeLong(recordCount);
+            out.writeLong(MAGIC);
+            out.close();
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                channel.force(true); // hot 에서 지우기 전에 디스크에 있어야 한다
+            }
+            Path file = dir.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+            // rename 도 디렉터리에 기록되어야 남는다. 그 전에 hot 의 행이나 compact 의 원래 segment 를 지우면 crash 때 잃는다
+            try (FileChannel directory = FileChannel.open(dir, StandardOpenOption.READ)) {
+                directory.force(true);
+            }
+            finished = true;
+            return Segment.open(number, file);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                out.close();
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.jyami.repository;
+
+import com.jyami.entity.ReadStatus;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * ReadStatus 를 객체 대신 원시 타입 배열(열) 4개에 나눠 저장한다.
+ * 한 건은 같은 행 번호의 ids / userIds / channelIds / lastReadAts 값이다. id 3개는 long, lastReadAt 은 int 라 열은 건당 28 bytes 다.
+ * id -> 행 번호는 int 슬롯 하나짜리 open addressing(linear probing) 테이블로 찾는다 (load factor 0.75 이하, 건당 5~11 bytes).
+ * 키는 따로 두지 않고 ids 열을 그대로 비교하므로 Long 박싱, 엔트리 객체, LocalDateTime 객체가 하나도 생기지 않는다.
+ *
+ * 삭제하면 마지막 행을 빈 행으로 옮겨 열을 빈틈없이 유지하고, 인덱스는 backward shift 로 정리해서 tombstone 이 남지 않는다.
+ * lastReadAt 은 UTC 기준 epoch second 이고, 값이 없으면 ReadStatus.NO_LAST_READ_AT 이다. DTO 변환은 호출하는 쪽(RowMapper)에서 한다.
+ * 안에서는 LAST_READ_BASE(2025-01-01) 기준 초를 int 로 두므로 1957 ~ 2093 년만 담을 수 있다 (canStore 로 미리 확인한다).
+ * 용량은 작을 때 1.5배, LARGE_CAPACITY 를 넘으면 1.25배씩 늘려서 큰 저장소에서 빈 행이 heap 을 많이 차지하지 않게 한다.
+ *
+ * 마지막 접근 시각(분 단위, int)을 열 하나 더 두고 put / get 마다 갱신한다 (건당 4 bytes).
+ * evictStale 은 lastReadAt 과 마지막 접근이 모두 오래된 행을 cold tier(ReadStatusColdStore)로 옮기는 데 쓴다.
+ */
+@Repository
+public class ReadStatusColumnStore {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int MIN_CAPACITY = 16;
+    private static final int LARGE_CAPACITY = 1 << 20;
+    private static final long LAST_READ_BASE = 1_735_689_600L; // 2025-01-01T00:00:00Z
+    private static final int NO_LAST_READ = Integer.MIN_VALUE;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongSupplier clock;
+
+    private long[] ids;
+    private long[] userIds;
+    private long[] channelIds;
+    private int[] lastReadAts; // LAST_READ_BASE 기준 초, 없으면 NO_LAST_READ
+    private int[] accessedAts; // epoch minute
+    private int size;
+
+    private int[] index; // 행 번호 + 1, 0 은 빈 슬롯
+    private int mask;
+
+    /**
+     * 한 행을 원하는 타입으로 바꾼다. 저장소 밖으로 나가는 시점에만 객체를 만든다.
+     */
+    @FunctionalInterface
+    public interface RowMapper<R> {
+        R map(long id, long userId, long channelId, long lastReadAt);
+    }
+
+    /**
+     * evictStale 이 고른 행을 받는다. rows 에는 행마다 id, userId, channelId, lastReadAt 순서로 count 개가 들어 있다.
+     */
+    @FunctionalInterface
+    public interface RowSink {
+        void write(long[] rows, int count) throws IOException;
+    }
+
+    public ReadStatusColumnStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ReadStatusColumnStore(int initialCapacity) {
+        this(initialCapacity, System::currentTimeMillis);
+    }
+
+    ReadStatusColumnStore(int initialCapacity, LongSupplier clock) {
+        this.clock = clock;
+        int capacity = Math.max(MIN_CAPACITY, initialCapacity);
+        ids = new long[capacity];
+        userIds = new long[capacity];
+        channelIds = new long[capacity];
+        lastReadAts = new int[capacity];
+        accessedAts = new int[capacity];
+        index = new int[indexSizeFor(capacity)];
+        mask = index.length - 1;
+    }
+
+    /**
+     * lastReadAt 을 이 저장소에 담을 수 있는지. ReadStatus.NO_LAST_READ_AT 은 담을 수 있다.
+     */
+    public static boolean canStore(long lastReadAt) {
+        long offset = lastReadAt - LAST_READ_BASE;
+        return lastReadAt == ReadStatus.NO_LAST_READ_AT || (offset > NO_LAST_READ && offset <= Integer.MAX_VALUE);
+    }
+
+    /**
+     * 같은 id 가 있으면 덮어쓴다. lastReadAt 이 canStore 범위 밖이면 IllegalArgumentException.
+     */
+    public void put(long id, long userId, long channelId, long lastReadAt) {
+        int encodedLastReadAt = encode(lastReadAt);
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(id);
+            int row = index[slot] - 1;
+            if (row < 0) {
+                if (ensureCapacity(size + 1)) {
+                    slot = findSlot(id); // 인덱스를 다시 만들었으면 슬롯 위치가 바뀐다
+                }
+                row = size++;
+                index[slot] = row + 1;
+                ids[row] = id;
+            }
+            userIds[row] = userId;
+            channelIds[row] = channelId;
+            lastReadAts[row] = encodedLastReadAt;
+            accessedAts[row] = currentMinute();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 없으면 null 을 돌려준다. mapper 는 lock 을 놓은 뒤에 호출된다.
+     */
+    public <R> R get(long id, RowMapper<R> mapper) {
+        long userId;
+        long channelId;
+        long lastReadAt;
+        int now = currentMinute();
+        lock.readLock().lock();
+        try {
+            int row = index[findSlot(id)] - 1;
+            if (row < 0) {
+                return null;
+            }
+            userId = userIds[row];
+            channelId = channelIds[row];
+            lastReadAt = decode(lastReadAts[row]);
+            accessedAts[row] = now; // read lock 안에서 여러 스레드가 써도 모두 "지금" 이라 어느 값이 남아도 된다
+        } finally {
+            lock.readLock().unlock();
+        }
+        return mapper.map(id, userId, channelId, lastReadAt);
+    }
+
+    /**
+     * requestedIds 를 read lock 한 번으로 모두 찾는다. 찾은 행은 요청 순서대로 mapper 를 거쳐 found 에 담고, 없는 id 는 missing 으로 넘긴다.
+     * lock 안에서는 값만 꺼내 두고 mapper 는 lock 을 놓은 뒤에 호출한다.
+     */
+    public <R> void getAll(long[] requestedIds, RowMapper<R> mapper, List<R> found, LongConsumer missing) {
+        long[] rows = new long[requestedIds.length * 3]; // userId, channelId, lastReadAt
+        boolean[] present = new boolean[requestedIds.length];
+        int now = currentMinute();
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < requestedIds.length; i++) {
+                int row = index[findSlot(requestedIds[i])] - 1;
+                if (row >= 0) {
+                    present[i] = true;
+                    rows[i * 3] = userIds[row];
+                    rows[i * 3 + 1] = channelIds[row];
+                    rows[i * 3 + 2] = decode(lastReadAts[row]);
+                    accessedAts[row] = now;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (int i = 0; i < requestedIds.length; i++) {
+            if (present[i]) {
+                found.add(mapper.map(requestedIds[i], rows[i * 3], rows[i * 3 + 1], rows[i * 3 + 2]));
+            } else {
+                missing.accept(requestedIds[i]);
+            }
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return index[findSlot(id)] != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(id);
+            int row = index[slot] - 1;
+            if (row < 0) {
+                return false;
+            }
+            removeRow(slot, row);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * lastReadAt 과 마지막 접근이 모두 maxAgeMillis 보다 오래된 행을 sink 로 넘기고 지운다. 옮긴 행 수를 돌려준다.
+     *
+     * chunkRows 개씩 read lock 으로 고른 뒤, lock 없이 sink 에 쓰고, 쓰기가 끝난 다음 write lock 으로 지운다.
+     * 그래서 옮기는 중에도 조회가 막히지 않고, 어느 시점에도 hot / cold 둘 다에 없는 행은 생기지 않는다.
+     * sink 에 쓰는 사이 다시 접근되었거나 바뀐 행은 지우지 않는다 (cold 에 남은 복사본은 hot 에 가려진다).
+     * 행은 뒤에서부터 훑는다. 지우면 마지막 행이 빈자리로 오는데, 그 행은 이미 훑은 쪽에 있으므로 빠뜨리는 행이 없다.
+     * 다 옮긴 뒤 남은 행이 용량의 1/4 보다 적으면 배열을 줄여서 heap 이 남은 행 수를 따라가게 한다.
+     */
+    public int evictStale(long maxAgeMillis, int chunkRows, RowSink sink) throws IOException {
+        long cutoffMillis = clock.getAsLong() - maxAgeMillis;
+        long lastReadBefore = Math.floorDiv(cutoffMillis, 1000L);
+        long lastReadBeforeOffset = Math.max(NO_LAST_READ + 1L, Math.min(Integer.MAX_VALUE, lastReadBefore - LAST_READ_BASE)); // NO_LAST_READ 는 항상 오래된 쪽
+        int accessedBefore = (int) Math.floorDiv(cutoffMillis, 60_000L);
+        long[] rows = new long[chunkRows * 4];
+        int evicted = 0;
+        int cursor = Integer.MAX_VALUE;
+        while (cursor > 0) {
+            int count = 0;
+            lock.readLock().lock();
+            try {
+                cursor = Math.min(cursor, size);
+                while (cursor > 0 && count < chunkRows) {
+                    int row = --cursor;
+                    if (lastReadAts[row] < lastReadBeforeOffset && accessedAts[row] < accessedBefore) {
+                        rows[count * 4] = ids[row];
+                        rows[count * 4 + 1] = userIds[row];
+                        rows[count * 4 + 2] = channelIds[row];
+                        rows[count * 4 + 3] = decode(lastReadAts[row]);
+                        count++;
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (count == 0) {
+                continue;
+            }
+
+            sink.write(rows, count);
+
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < count; i++) {
+                    int slot = findSlot(rows[i * 4]);
+                    int row = index[slot] - 1;
+                    if (row >= 0 && accessedAts[row] < accessedBefore
+                        && userIds[row] == rows[i * 4 + 1] && channelIds[row] == rows[i * 4 + 2] && decode(lastReadAts[row]) == rows[i * 4 + 3]) {
+                        removeRow(slot, row);
+                        evicted++;
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (evicted > 0) {
+            shrinkToFit();
+        }
+        return evicted;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 열과 인덱스 배열이 차지하는 bytes (배열 헤더 제외). 실제 저장된 건수가 아니라 할당된 용량 기준이다.
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) ids.length * (Long.BYTES * 3 + Integer.BYTES * 2) + (long) index.length * Integer.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeRow(int slot, int row) {
+        deleteSlot(slot);
+
+        int last = --size;
+        if (row != last) {
+            // 마지막 행을 빈 행으로 옮긴다. ids[last] 는 아직 그대로라 findSlot 으로 옮길 행의 슬롯을 찾을 수 있다
+            index[findSlot(ids[last])] = row + 1;
+            ids[row] = ids[last];
+            userIds[row] = userIds[last];
+            channelIds[row] = channelIds[last];
+            lastReadAts[row] = lastReadAts[last];
+            accessedAts[row] = accessedAts[last];
+        }
+    }
+
+    private static int encode(long lastReadAt) {
+        if (!canStore(lastReadAt)) {
+            throw new IllegalArgumentException("lastReadAt out of range: " + lastReadAt);
+        }
+        return lastReadAt == ReadStatus.NO_LAST_READ_AT ? NO_LAST_READ : (int) (lastReadAt - LAST_READ_BASE);
+    }
+
+    private static long decode(int lastReadAt) {
+        return lastReadAt == NO_LAST_READ ? ReadStatus.NO_LAST_READ_AT : LAST_READ_BASE + lastReadAt;
+    }
+
+    private int currentMinute() {
+        return (int) (clock.getAsLong() / 60_000L);
+    }
+
+    // id 가 들어 있는 슬롯, 없으면 id 가 들어갈 빈 슬롯
+    private int findSlot(long id) {
+        int slot = hash(id) & mask;
+        while (true) {
+            int entry = index[slot];
+            if (entry == 0 || ids[entry - 1] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // 뒤따르는 같은 probe 구간의 엔트리를 당겨와서 빈 슬롯 때문에 검색이 끊기지 않게 한다
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            int entry = index[next];
+            if (entry == 0) {
+                break;
+            }
+            int home = hash(ids[entry - 1]) & mask;
+            // hole 이 home ~ next 구간 안에 있으면 entry 를 hole 로 옮겨도 검색 경로가 유지된다
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index[hole] = entry;
+                hole = next;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private void shrinkToFit() {
+        lock.writeLock().lock();
+        try {
+            if (ids.length <= MIN_CAPACITY || size >= ids.length / 4) {
+                return;
+            }
+            int capacity = Math.max(MIN_CAPACITY, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            channelIds = Arrays.copyOf(channelIds, capacity);
+            lastReadAts = Arrays.copyOf(lastReadAts, capacity);
+            accessedAts = Arrays.copyOf(accessedAts, capacity);
+            rebuildIndex(indexSizeFor(capacity));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 인덱스를 다시 만들었으면 true
+    private boolean ensureCapacity(int required) {
+        if (required > ids.length) {
+            int growth = ids.length < LARGE_CAPACITY ? ids.length >> 1 : ids.length >> 2;
+            int capacity = Math.max(required, ids.length + growth);
+            ids = Arrays.copyOf(ids, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            channelIds = Arrays.copyOf(channelIds, capacity);
+            lastReadAts = Arrays.copyOf(lastReadAts, capacity);
+            accessedAts = Arrays.copyOf(accessedAts, capacity);
+        }
+        if (required <= maxEntries(index.length)) {
+            return false;
+        }
+        rebuildIndex(indexSizeFor(required));
+        return true;
+    }
+
+    private void rebuildIndex(int indexSize) {
+        index = new int[indexSize];
+        mask = index.length - 1;
+        for (int row = 0; row < size; row++) {
+            index[findSlot(ids[row])] = row + 1;
+        }
+    }
+
+    private static int indexSizeFor(int entries) {
+        int size = MIN_CAPACITY;
+        while (maxEntries(size) < entries) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static int maxEntries(int indexSize) {
+        return indexSize - (indexSize >> 2);
+    }
+
+    // snowflake id 는 하위 비트(sequence)가 몰려 있어서 곱셈으로 섞은 뒤 상위 비트를 쓴다
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
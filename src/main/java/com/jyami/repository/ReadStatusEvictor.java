@@ -0,0 +1,75 @@
+package com.jyami.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주기적으로 오래된 ReadStatus 를 hot(heap) 에서 cold(디스크) 로 옮기고, cold segment 가 많아지면 합친다.
+ * lastReadAt 과 마지막 접근이 모두 maxAgeMillis 보다 오래된 행이 대상이다.
+ * 옮기기와 합치기는 이 스레드 하나에서만 하므로 서로 겹치지 않는다.
+ */
+public class ReadStatusEvictor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadStatusEvictor.class);
+    private static final int CHUNK_ROWS = 64 * 1024;
+
+    private final ReadStatusColumnStore hotStore;
+    private final ReadStatusColdStore coldStore;
+    private final long maxAgeMillis;
+    private final long intervalMillis;
+    private final AtomicLong evictedTotal = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "read-status-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReadStatusEvictor(ReadStatusColumnStore hotStore, ReadStatusColdStore coldStore, long maxAgeMillis, long intervalMillis) {
+        this.hotStore = hotStore;
+        this.coldStore = coldStore;
+        this.maxAgeMillis = maxAgeMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::evictSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 한 번 옮기고 옮긴 행 수를 돌려준다.
+     */
+    public int evict() throws IOException {
+        long start = System.nanoTime();
+        int evicted = hotStore.evictStale(maxAgeMillis, CHUNK_ROWS, coldStore::write);
+        coldStore.compact();
+        evictedTotal.addAndGet(evicted);
+        if (evicted > 0) {
+            logger.info("Evicted {} read markers to cold tier in {} ms (hot {}, cold {})",
+                evicted, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), hotStore.size(), coldStore.recordCount());
+        }
+        return evicted;
+    }
+
+    public long getEvictedTotal() {
+        return evictedTotal.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void evictSafely() {
+        try {
+            evict();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to evict read markers", e); // 다음 주기에 다시 시도한다. 옮기지 못한 행은 hot 에 그대로 있다
+        }
+    }
+}
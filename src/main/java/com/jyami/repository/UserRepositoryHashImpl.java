@@ -2,23 +2,27 @@ package com.jyami.repository;
 
 import com.jyami.dto.UserDto;
 import com.jyami.entity.User;
+import com.jyami.id.IdGenerator;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
 public class UserRepositoryHashImpl implements UserRepository {
 
     private final HashMap<Long, User> users = new HashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final IdGenerator idGenerator;
+
+    public UserRepositoryHashImpl(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     @Override
     public User create(UserDto userDto) {
-        User user = new User(idGenerator.getAndIncrement(), userDto.name(), userDto.email());
+        User user = new User(idGenerator.nextId(), userDto.name(), userDto.email());
         users.put(user.getId(), user);
         return user;
     }
@@ -50,7 +54,7 @@ public class UserRepositoryHashImpl implements UserRepository {
 
     @Override
     public void delete(long userId) {
-        throw new IllegalArgumentException("TODO implementation");
+        users.remove(userId);
     }
 
 }
@@ -2,22 +2,26 @@ package com.jyami.repository;
 
 import com.jyami.dto.UserDto;
 import com.jyami.entity.User;
+import com.jyami.id.IdGenerator;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
 public class UserRepositoryListImpl implements UserRepository {
 
     private final List<User> users = new ArrayList<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final IdGenerator idGenerator;
+
+    public UserRepositoryListImpl(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     @Override
     public User create(UserDto userDto) {
-        User user = new User(idGenerator.getAndIncrement(), userDto.name(), userDto.email());
+        User user = new User(idGenerator.nextId(), userDto.name(), userDto.email());
         users.add(user);
         return user;
     }
@@ -51,7 +55,7 @@ public class UserRepositoryListImpl implements UserRepository {
 
     @Override
     public void delete(long userId) {
-        throw new UnsupportedOperationException("TODO implementation");
+        users.removeIf(user -> user.getId() == userId);
     }
 
 }
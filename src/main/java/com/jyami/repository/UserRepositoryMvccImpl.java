@@ -0,0 +1,177 @@
+package com.jyami.repository;
+
+import com.jyami.dto.UserDto;
+import com.jyami.entity.User;
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.id.IdGenerator;
+import org.springframework.stereotype.Repository;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 버전(MVCC) 방식의 유저 저장소.
+ *
+ * 유저는 불변 버전(UserVersion)으로 저장한다. update 는 새 버전을 만들어 새 맵에 넣고
+ * compare-and-swap 으로 현재 버전을 교체한다. reader 는 현재 버전을 한 번 읽은 뒤 그 버전만 보므로
+ * 락 없이 항상 일관된 시점의 데이터를 본다.
+ *
+ * User 는 수정할 수 있는 객체라서 저장소 밖으로는 항상 새로 만든 User 를 돌려준다.
+ * 돌려받은 User 를 고쳐도 저장된 버전에는 영향이 없고, 바뀐 값을 저장하려면 update 를 호출해야 한다.
+ * 다른 구현과 달리 update 에 넘긴 User 객체도 바뀌지 않는다. 바뀐 값은 findById 로 다시 조회해야 한다.
+ * update 하려는 유저가 이미 지워졌으면 LogicException(USER_NOT_FOUND) 을 던진다.
+ */
+@Repository
+public class UserRepositoryMvccImpl implements UserRepository {
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(PersistentLongMap.empty(), 0));
+    private final IdGenerator idGenerator;
+
+    public UserRepositoryMvccImpl(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public User create(UserDto userDto) {
+        UserVersion user = new UserVersion(idGenerator.nextId(), userDto.name(), userDto.email());
+        Snapshot snapshot;
+        do {
+            snapshot = current.get();
+        } while (!current.compareAndSet(snapshot, snapshot.with(user)));
+        return user.toUser();
+    }
+
+    @Override
+    public Optional<User> findById(long userId) {
+        UserVersion user = current.get().users.get(userId);
+        return user == null ? Optional.empty() : Optional.of(user.toUser());
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        Iterator<UserVersion> users = current.get().users.iterator();
+        while (users.hasNext()) {
+            UserVersion user = users.next();
+            if (user.email().equals(email)) {
+                return user.toUser();
+            }
+        }
+        throw new IllegalArgumentException("user not found");
+    }
+
+    /**
+     * 호출 시점의 버전을 그대로 보여주는 읽기 전용 리스트. 맵을 복사하지 않고, 같은 버전을 조회하는 reader 끼리는 같은 리스트를 공유한다.
+     * 순회할 때 원소마다 User 를 새로 만든다.
+     */
+    @Override
+    public List<User> findAll() {
+        return current.get().view;
+    }
+
+    @Override
+    public void update(User user, UserDto userDto) {
+        UserVersion updated = new UserVersion(user.getId(), userDto.name(), userDto.email());
+        Snapshot snapshot;
+        do {
+            snapshot = current.get();
+            if (snapshot.users.get(updated.id()) == null) {
+                // UserService.update 의 findById 뒤에 지워진 경우. 처음부터 없던 경우와 같은 응답(404)이 나가게 한다
+                throw new LogicException(ErrorCode.USER_NOT_FOUND);
+            }
+        } while (!current.compareAndSet(snapshot, snapshot.with(updated)));
+    }
+
+    @Override
+    public void delete(long userId) {
+        Snapshot snapshot;
+        do {
+            snapshot = current.get();
+            if (snapshot.users.get(userId) == null) {
+                return;
+            }
+        } while (!current.compareAndSet(snapshot, snapshot.without(userId)));
+    }
+
+    public long getVersion() {
+        return current.get().version;
+    }
+
+    private record UserVersion(long id, String name, String email) {
+        User toUser() {
+            return new User(id, name, email);
+        }
+    }
+
+    private static final class Snapshot {
+        private final PersistentLongMap<UserVersion> users;
+        private final long version;
+        private final List<User> view;
+
+        private Snapshot(PersistentLongMap<UserVersion> users, long version) {
+            this.users = users;
+            this.version = version;
+            this.view = new SnapshotList(users);
+        }
+
+        private Snapshot with(UserVersion user) {
+            return new Snapshot(users.put(user.id(), user), version + 1);
+        }
+
+        private Snapshot without(long userId) {
+            return new Snapshot(users.remove(userId), version + 1);
+        }
+    }
+
+    private static final class SnapshotList extends AbstractList<User> {
+        private final PersistentLongMap<UserVersion> users;
+        // get(index) 로 조회할 때만 만든다. 순회(iterator, stream)는 트라이를 직접 따라간다
+        private volatile UserVersion[] indexed;
+
+        private SnapshotList(PersistentLongMap<UserVersion> users) {
+            this.users = users;
+        }
+
+        @Override
+        public int size() {
+            return users.size();
+        }
+
+        @Override
+        public Iterator<User> iterator() {
+            Iterator<UserVersion> versions = users.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return versions.hasNext();
+                }
+
+                @Override
+                public User next() {
+                    return versions.next().toUser();
+                }
+            };
+        }
+
+        @Override
+        public User get(int index) {
+            Objects.checkIndex(index, users.size());
+            UserVersion[] result = indexed;
+            if (result == null) {
+                // 여러 스레드가 동시에 만들어도 같은 버전이라 내용이 같다
+                UserVersion[] array = new UserVersion[users.size()];
+                Iterator<UserVersion> versions = users.iterator();
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = versions.next();
+                }
+                result = array;
+                indexed = result;
+            }
+            return result[index].toUser();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.jyami.search;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 자동완성용 압축(radix) 트라이. 간선마다 한 글자가 아니라 문자열 조각을 들고 있어서
+ * 노드 수가 단어 수의 두 배를 넘지 않는다.
+ *
+ * 값은 문서 번호(int)이고, 자식은 첫 글자 순으로 정렬되어 있어 사전 순으로 순회한다.
+ * 비어있는 노드는 삭제할 때 바로 정리하므로 어떤 노드에서 내려가도 항상 단어에 도착한다.
+ * 그래서 prefix 조회 비용은 저장된 단어 수와 상관없이 prefix 길이 + limit 에 비례한다.
+ */
+final class PrefixTrie {
+
+    private final Node root = new Node("");
+
+    void add(String term, int doc) {
+        Node node = root;
+        int i = 0;
+        while (i < term.length()) {
+            int childIndex = node.childIndex(term.charAt(i));
+            if (childIndex < 0) {
+                Node leaf = new Node(term.substring(i));
+                leaf.addDoc(doc);
+                node.insertChild(-childIndex - 1, leaf);
+                return;
+            }
+            Node child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, term, i);
+            if (common < child.label.length()) {
+                // 간선을 공통 부분에서 쪼갠다
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.insertChild(0, child);
+                node.children[childIndex] = middle;
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+        node.addDoc(doc);
+    }
+
+    void remove(String term, int doc) {
+        removeFrom(root, term, 0, doc);
+    }
+
+    /**
+     * prefix 로 시작하는 단어의 문서를 사전 순으로 방문한다. visitor 가 false 를 돌려주면 멈춘다.
+     */
+    void visit(String prefix, IntPredicate visitor) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int childIndex = node.childIndex(prefix.charAt(i));
+            if (childIndex < 0) {
+                return;
+            }
+            Node child = node.children[childIndex];
+            int remaining = prefix.length() - i;
+            if (remaining <= child.label.length()) {
+                if (!child.label.startsWith(prefix.substring(i))) {
+                    return;
+                }
+            } else if (!prefix.startsWith(child.label, i)) {
+                return;
+            }
+            node = child;
+            i += child.label.length();
+        }
+        visitSubtree(node, visitor);
+    }
+
+    private boolean visitSubtree(Node node, IntPredicate visitor) {
+        for (int i = 0; i < node.docCount; i++) {
+            if (!visitor.test(node.docs[i])) {
+                return false;
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            if (!visitSubtree(node.children[i], visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 반환값: node 가 비어서 부모에서 떼어내야 하면 true
+    private boolean removeFrom(Node node, String term, int i, int doc) {
+        if (i == term.length()) {
+            node.removeDoc(doc);
+        } else {
+            int childIndex = node.childIndex(term.charAt(i));
+            if (childIndex < 0) {
+                return false;
+            }
+            Node child = node.children[childIndex];
+            if (!term.startsWith(child.label, i)) {
+                return false;
+            }
+            if (removeFrom(child, term, i + child.label.length(), doc)) {
+                node.removeChild(childIndex);
+            } else if (child.docCount == 0 && child.childCount == 1) {
+                // 단어가 없는 중간 노드는 자식과 합친다
+                Node grandChild = child.children[0];
+                grandChild.label = child.label + grandChild.label;
+                node.children[childIndex] = grandChild;
+            }
+        }
+        return node != root && node.docCount == 0 && node.childCount == 0;
+    }
+
+    private static int commonPrefixLength(String label, String term, int offset) {
+        int max = Math.min(label.length(), term.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == term.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private static final int[] NO_DOCS = new int[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        String label;
+        int[] docs = NO_DOCS;
+        int docCount;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        // 있으면 index, 없으면 -(삽입 위치) - 1
+        int childIndex(char first) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node child) {
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+            }
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            children[index] = child;
+            childCount++;
+        }
+
+        void removeChild(int index) {
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        void addDoc(int doc) {
+            for (int i = 0; i < docCount; i++) {
+                if (docs[i] == doc) {
+                    return;
+                }
+            }
+            if (docCount == docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(1, docCount * 2));
+            }
+            docs[docCount++] = doc;
+        }
+
+        void removeDoc(int doc) {
+            for (int i = 0; i < docCount; i++) {
+                if (docs[i] == doc) {
+                    docs[i] = docs[--docCount];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.jyami.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 메모리 검색 색인. 문서마다 여러 필드(이름, 이메일 등)를 소문자로 바꿔 색인한다.
+ *
+ * 결과 순서
+ * 1. 필드가 query 로 시작하는 문서 (사전 순)
+ * 2. 필드 중간에 query 가 들어있는 문서 (일치 위치가 앞일수록, 필드가 짧을수록 먼저)
+ *
+ * 2번은 query 가 세 글자 이상일 때만 찾는다. 흔한 trigram 으로 수백만 건을 훑지 않도록
+ * 후보는 최대 {@link #MAX_SUBSTRING_CANDIDATES} 건까지만 보고, 그 안에서만 순위를 매긴다.
+ * 후보는 문서 번호 순(대략 색인한 순서)으로 보므로 후보가 이보다 많으면 순위가 더 높은 문서가 결과에서 빠질 수 있다.
+ * 그래서 2번은 "가장 잘 맞는 결과"가 아니라 "잘 맞는 결과 일부"로 봐야 한다.
+ *
+ * 삭제/수정으로 죽은 문서가 많아지면 색인을 다시 만든다. 다시 만드는 동안에는 lock 을 잡지 않고
+ * 기존 색인으로 계속 검색/수정하며, 다 만든 뒤 그 사이 바뀐 문서만 새 색인에 반영하고 교체한다.
+ *
+ * @param <K> 문서 키 (유저 id, 채널 id 등)
+ * @param <V> 검색 결과로 돌려줄 값
+ */
+public class SearchIndex<K, V> {
+
+    static final int MAX_SUBSTRING_CANDIDATES = 10_000;
+    // 삭제/수정으로 죽은 문서가 이보다 많고 살아있는 문서보다 많아지면 색인을 다시 만든다
+    private static final int MIN_DEAD_FOR_REBUILD = 1_024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State<K, V> state = new State<>();
+    // 색인을 다시 만드는 중일 때만 null 이 아니다. 그 사이 put/remove 된 key
+    private Set<K> changedDuringRebuild;
+
+    /**
+     * 문서를 추가하거나, 이미 있으면 새 필드 값으로 교체한다.
+     * 이 호출로 색인을 다시 만들게 되면 lock 을 놓은 뒤 호출한 스레드에서 만든다. 그동안 다른 검색/수정은 막히지 않는다.
+     */
+    public void put(K key, V value, String... fields) {
+        sync(key, () -> value, ignored -> fields);
+    }
+
+    /**
+     * key 의 문서를 원본의 현재 값(current)에 맞춘다. current 가 null 을 돌려주면 문서를 지운다.
+     * current 는 write lock 안에서 호출되므로, 원본 저장과 색인 반영이 여러 스레드에서 엇갈려도
+     * 마지막으로 끝난 sync 가 그 시점 원본의 상태를 남긴다 (지워진 원본이 먼저 끝난 put 으로 되살아나지 않는다).
+     */
+    public void sync(K key, Supplier<V> current, Function<? super V, String[]> fields) {
+        State<K, V> rebuildFrom = null;
+        List<Document<K, V>> live = null;
+        lock.writeLock().lock();
+        try {
+            V value = current.get();
+            state.remove(key);
+            if (value != null) {
+                state.index(new Document<>(key, value, normalize(fields.apply(value))));
+            }
+            markChanged(key);
+            if (changedDuringRebuild == null && state.deadCount > MIN_DEAD_FOR_REBUILD && state.deadCount > state.docByKey.size()) {
+                rebuildFrom = state;
+                live = state.liveDocuments(); // 참조만 복사한다
+                changedDuringRebuild = new HashSet<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuildFrom != null) {
+            rebuild(rebuildFrom, live);
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            state.remove(key);
+            markChanged(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            state = new State<>(); // 다시 만드는 중이던 색인은 교체할 때 버려진다
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.docByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<V> search(String query, int limit) {
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        List<V> result = new ArrayList<>(limit);
+        if (normalized.isEmpty() || limit <= 0) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            State<K, V> current = state;
+            Set<Integer> found = new HashSet<>();
+            current.prefixTrie.visit(normalized, doc -> {
+                if (found.add(doc)) {
+                    result.add(current.documents.get(doc).value);
+                }
+                return result.size() < limit;
+            });
+            if (result.size() < limit && normalized.length() >= 3) {
+                addSubstringMatches(current, normalized, limit - result.size(), found, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addSubstringMatches(State<K, V> current, String query, int limit, Set<Integer> found, List<V> result) {
+        List<long[]> matches = new ArrayList<>(); // {순위, 문서 번호}
+        int[] scanned = new int[1];
+        current.trigramIndex.visitCandidates(query, doc -> {
+            Document<K, V> document = current.documents.get(doc);
+            if (document != null && !found.contains(doc)) {
+                long rank = document.rank(query);
+                if (rank >= 0) {
+                    matches.add(new long[]{rank, doc});
+                }
+            }
+            return ++scanned[0] < MAX_SUBSTRING_CANDIDATES;
+        });
+        matches.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            result.add(current.documents.get((int) matches.get(i)[1]).value);
+        }
+    }
+
+    private void markChanged(K key) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(key);
+        }
+    }
+
+    // live 는 rebuildFrom 에서 lock 안에서 꺼낸 문서들이다. Document 는 불변이라 lock 없이 읽어도 된다
+    private void rebuild(State<K, V> rebuildFrom, List<Document<K, V>> live) {
+        State<K, V> rebuilt = new State<>();
+        boolean built = false;
+        try {
+            for (Document<K, V> document : live) {
+                rebuilt.index(document);
+            }
+            built = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (built && state == rebuildFrom) {
+                    // 다시 만드는 동안 바뀐 문서는 현재 색인의 값으로 맞춘다
+                    for (K key : changedDuringRebuild) {
+                        rebuilt.remove(key);
+                        Document<K, V> document = state.get(key);
+                        if (document != null) {
+                            rebuilt.index(document);
+                        }
+                    }
+                    state = rebuilt;
+                }
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static String[] normalize(String[] fields) {
+        return Arrays.stream(fields)
+            .filter(field -> field != null && !field.isBlank())
+            .map(field -> field.trim().toLowerCase(Locale.ROOT))
+            .distinct()
+            .toArray(String[]::new);
+    }
+
+    // 색인 하나. SearchIndex 의 lock 안에서만 수정한다
+    private static final class State<K, V> {
+        private final Map<K, Integer> docByKey = new HashMap<>();
+        private final List<Document<K, V>> documents = new ArrayList<>(); // 문서 번호 -> 문서, 삭제되면 null
+        private final PrefixTrie prefixTrie = new PrefixTrie();
+        private final TrigramIndex trigramIndex = new TrigramIndex();
+        private int deadCount;
+
+        Document<K, V> get(K key) {
+            Integer doc = docByKey.get(key);
+            return doc == null ? null : documents.get(doc);
+        }
+
+        List<Document<K, V>> liveDocuments() {
+            List<Document<K, V>> live = new ArrayList<>(docByKey.size());
+            for (Document<K, V> document : documents) {
+                if (document != null) {
+                    live.add(document);
+                }
+            }
+            return live;
+        }
+
+        void index(Document<K, V> document) {
+            int doc = documents.size();
+            documents.add(document);
+            docByKey.put(document.key, doc);
+            Set<Long> trigrams = new HashSet<>();
+            for (String field : document.fields) {
+                prefixTrie.add(field, doc);
+                TrigramIndex.collect(field, trigrams);
+            }
+            trigramIndex.add(trigrams, doc);
+        }
+
+        void remove(K key) {
+            Integer doc = docByKey.remove(key);
+            if (doc == null) {
+                return;
+            }
+            Document<K, V> document = documents.set(doc, null);
+            for (String field : document.fields) {
+                prefixTrie.remove(field, doc);
+            }
+            deadCount++; // trigram posting 에는 남아있다
+        }
+    }
+
+    private record Document<K, V>(K key, V value, String[] fields) {
+
+        // 부분 일치 순위. 값이 작을수록 앞. 일치하지 않으면 -1
+        long rank(String query) {
+            long best = -1;
+            for (String field : fields) {
+                int position = field.indexOf(query);
+                if (position >= 0) {
+                    long rank = ((long) position << 32) | field.length();
+                    if (best < 0 || rank < best) {
+                        best = rank;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+}
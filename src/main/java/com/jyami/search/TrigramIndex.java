@@ -0,0 +1,72 @@
+package com.jyami.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * 부분 문자열 검색용 trigram(연속된 세 글자) 역색인.
+ *
+ * posting 은 문서 번호를 추가만 하는 int 배열이다. 삭제된 문서는 여기서 빼지 않고
+ * 조회할 때 {@link SearchIndex} 가 걸러내며, 쌓인 만큼 SearchIndex 가 통째로 다시 만든다.
+ * 흔한 trigram 의 posting 에서 문서 하나를 찾아 지우는 비용을 피하기 위함이다.
+ */
+final class TrigramIndex {
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    void add(Set<Long> trigrams, int doc) {
+        for (Long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, t -> new Postings()).add(doc);
+        }
+    }
+
+    /**
+     * query 의 모든 trigram 을 가진 후보 문서를 방문한다. 가장 짧은 posting 하나만 훑고,
+     * 나머지 trigram 확인은 호출한 쪽의 실제 문자열 비교에 맡긴다. visitor 가 false 를 돌려주면 멈춘다.
+     */
+    void visitCandidates(String query, IntPredicate visitor) {
+        Postings shortest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            Postings candidate = postings.get(trigram(query, i));
+            if (candidate == null) {
+                return;
+            }
+            if (shortest == null || candidate.size < shortest.size) {
+                shortest = candidate;
+            }
+        }
+        if (shortest == null) {
+            return;
+        }
+        for (int i = 0; i < shortest.size; i++) {
+            if (!visitor.test(shortest.docs[i])) {
+                return;
+            }
+        }
+    }
+
+    static void collect(String term, Set<Long> out) {
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            out.add(trigram(term, i));
+        }
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.jyami.service;
+
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.file.Channel;
+import com.jyami.file.FileChannelRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ChannelService {
+
+    private final FileChannelRepository fileChannelRepository;
+    private final boolean readOnly;
+
+    public ChannelService(
+        FileChannelRepository fileChannelRepository,
+        @Value("${discodeit.replication.role:standalone}") String replicationRole
+    ) {
+        this.fileChannelRepository = fileChannelRepository;
+        this.readOnly = "replica".equals(replicationRole); // replica 는 primary 의 변경 로그로만 갱신된다
+    }
+
+    public Channel createChannel(Channel channel) {
+        if (readOnly) {
+            throw new LogicException(ErrorCode.READ_ONLY_REPLICA);
+        }
+        if (channel.name() == null || channel.name().isBlank()) {
+            throw new LogicException(ErrorCode.INVALID_REQUEST);
+        }
+        fileChannelRepository.addChannel(channel);
+        return channel;
+    }
+
+    public List<Channel> getChannelList() {
+        return fileChannelRepository.getChannelList();
+    }
+}
@@ -1,13 +1,18 @@
 package com.jyami.service;
 
+import com.jyami.dto.ReadStatusBatchDto;
 import com.jyami.dto.ReadStatusDto;
-import com.jyami.entity.ReadStatus;
 import com.jyami.error.ErrorCode;
 import com.jyami.error.LogicException;
+import com.jyami.id.IdGenerator;
 import com.jyami.mapper.ReadStatusMapper;
+import com.jyami.repository.ReadStatusColdStore;
+import com.jyami.repository.ReadStatusColumnStore;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,28 +20,73 @@ import java.util.Map;
 @Service
 public class ReadStatusService {
 
+    public static final int MAX_BATCH_IDS = 10_000;
+
     private final ReadStatusMapper readStatusMapper;
-    private final Map<Long, ReadStatus> db = new HashMap<>();
+    private final IdGenerator idGenerator;
+    private final ReadStatusColumnStore store;
+    private final ReadStatusColdStore coldStore;
+    // cold tier 에서 찾은 행은 다시 쓰이기 시작한 것이므로 hot 으로 올린 뒤 DTO 로 바꾼다
+    private final ReadStatusColumnStore.RowMapper<ReadStatusDto> faultIn;
 
-    public ReadStatusService(ReadStatusMapper readStatusMapper) {
+    public ReadStatusService(ReadStatusMapper readStatusMapper, IdGenerator idGenerator, ReadStatusColumnStore store, ReadStatusColdStore coldStore) {
         this.readStatusMapper = readStatusMapper;
+        this.idGenerator = idGenerator;
+        this.store = store;
+        this.coldStore = coldStore;
+        this.faultIn = (id, userId, channelId, lastReadAt) -> {
+            store.put(id, userId, channelId, lastReadAt);
+            return readStatusMapper.toDto(id, userId, channelId, lastReadAt);
+        };
     }
 
     public ReadStatusDto createReadStatus(ReadStatusDto dto) {
-        ReadStatus entity = readStatusMapper.toEntity(dto);
-        System.out.println("Create read status entity" + entity);
-        db.put(dto.id(), new ReadStatus(dto.id(), dto.userId(), dto.channelId(), dto.lastReadAt()));
-        return null;
+        long lastReadAt = readStatusMapper.toEpochSecond(dto.lastReadAt());
+        if (!ReadStatusColumnStore.canStore(lastReadAt)) {
+            throw new LogicException(ErrorCode.INVALID_REQUEST);
+        }
+        long id = idGenerator.nextId(); // 요청의 id 는 무시하고 서버에서 발급한다
+        store.put(id, dto.userId(), dto.channelId(), lastReadAt);
+        return store.get(id, readStatusMapper::toDto);
     }
 
     public ReadStatusDto findById(Long id) {
-        System.out.println("Find read status by id");
-        ReadStatus readStatus = db.get(id);
+        ReadStatusDto readStatus = store.get(id, readStatusMapper::toDto);
+        if (readStatus == null) {
+            readStatus = coldStore.get(id, faultIn);
+        }
         if (readStatus == null) {
             throw new LogicException(ErrorCode.INVALID_REQUEST);
         }
-        return readStatusMapper.toDto(readStatus);
+        return readStatus;
     }
 
+    /**
+     * 여러 id 를 저장소에서 한 번에 찾는다. 중복 id 는 한 번만 조회하고, 순서는 처음 나온 순서를 따른다.
+     * hot 에 없는 id 는 cold tier 에서 page 별로 묶어 찾는다.
+     */
+    public ReadStatusBatchDto findAllById(long[] ids) {
+        if (ids == null || ids.length > MAX_BATCH_IDS) {
+            throw new LogicException(ErrorCode.INVALID_REQUEST);
+        }
+        long[] distinctIds = Arrays.stream(ids).distinct().toArray();
+        List<ReadStatusDto> found = new ArrayList<>(distinctIds.length);
+        List<Long> coldIds = new ArrayList<>();
+        store.getAll(distinctIds, readStatusMapper::toDto, found, coldIds::add);
+        if (coldIds.isEmpty()) {
+            return new ReadStatusBatchDto(found, List.of());
+        }
 
+        List<Long> missingIds = new ArrayList<>();
+        int hotFound = found.size();
+        coldStore.getAll(coldIds.stream().mapToLong(Long::longValue).toArray(), faultIn, found, missingIds::add);
+        if (found.size() > hotFound) {
+            Map<Long, Integer> order = new HashMap<>();
+            for (int i = 0; i < distinctIds.length; i++) {
+                order.put(distinctIds[i], i);
+            }
+            found.sort(Comparator.comparing(dto -> order.get(dto.id())));
+        }
+        return new ReadStatusBatchDto(found, missingIds);
+    }
 }
@@ -0,0 +1,81 @@
+package com.jyami.service;
+
+import com.jyami.entity.User;
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.file.Channel;
+import com.jyami.file.ChannelMutation;
+import com.jyami.file.ChannelMutationListener;
+import com.jyami.file.ChannelSnapshot;
+import com.jyami.file.FileChannelRepository;
+import com.jyami.search.SearchIndex;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Service
+public class SearchService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final SearchIndex<Long, User> userIndex = new SearchIndex<>();
+    // 다시 색인할 때는 새 색인을 다 만든 뒤 교체한다. 그동안 검색은 이전 색인을 본다
+    private volatile SearchIndex<UUID, Channel> channelIndex = new SearchIndex<>();
+
+    public SearchService(FileChannelRepository fileChannelRepository) {
+        // 채널은 저장소 변경(replica 의 변경 로그 반영 포함)을 구독해서 색인한다
+        ChannelSnapshot snapshot = fileChannelRepository.subscribe(new ChannelMutationListener() {
+            @Override
+            public void onMutation(ChannelMutation mutation) {
+                indexChannel(mutation.channelId(), mutation.channel());
+            }
+
+            @Override
+            public void onReset(ChannelSnapshot snapshot) {
+                reindexChannels(snapshot);
+            }
+        });
+        reindexChannels(snapshot);
+    }
+
+    public void indexUser(User user) {
+        userIndex.put(user.getId(), user, user.getName(), user.getEmail());
+    }
+
+    /**
+     * 유저 색인을 저장소의 현재 상태(current)에 맞춘다. 없으면 색인에서 지운다.
+     * current 는 색인 lock 안에서 호출되므로 같은 유저의 update / delete 가 엇갈려도 색인이 저장소와 어긋나지 않는다.
+     */
+    public void syncUser(long userId, Supplier<Optional<User>> current) {
+        userIndex.sync(userId, () -> current.get().orElse(null), user -> new String[]{user.getName(), user.getEmail()});
+    }
+
+    public List<User> searchUsers(String query, int limit) {
+        validate(query, limit);
+        return userIndex.search(query, limit);
+    }
+
+    public List<Channel> searchChannels(String query, int limit) {
+        validate(query, limit);
+        return channelIndex.search(query, limit);
+    }
+
+    private void indexChannel(UUID channelId, Channel channel) {
+        channelIndex.put(channelId, channel, channel.name());
+    }
+
+    private void reindexChannels(ChannelSnapshot snapshot) {
+        SearchIndex<UUID, Channel> rebuilt = new SearchIndex<>();
+        snapshot.channels().forEach((channelId, channel) -> rebuilt.put(channelId, channel, channel.name()));
+        channelIndex = rebuilt;
+    }
+
+    private void validate(String query, int limit) {
+        if (query == null || query.isBlank() || limit < 1 || limit > MAX_LIMIT) {
+            throw new LogicException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.jyami.service;
+
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.file.PersistedStore;
+import com.jyami.file.StoreSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 저장 파일 export / import.
+ *
+ * 스냅샷은 현재 저장 파일에 하드 링크를 거는 것으로 만든다. 저장소는 파일을 원자적으로 교체만 하므로
+ * 링크가 가리키는 내용은 이후 쓰기와 상관없이 그대로 남고, 복사도 저장소 lock 도 필요 없다.
+ * 링크를 걸 수 없는 파일 시스템이면 파일 복사로 대신한다.
+ * 스냅샷은 snapshotTtlMillis 동안 남아 있어서 그 사이에는 같은 id 로 끊긴 곳부터 이어받을 수 있다.
+ * export 디렉터리는 첫 스냅샷을 만들 때 만든다.
+ *
+ * import 는 인증 없이 저장소 전체를 덮어쓰므로 discodeit.export.import-enabled 로 켰을 때만 받는다 (기본 꺼짐).
+ */
+@Service
+public class StoreExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreExportService.class);
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final Map<String, PersistedStore> stores = new HashMap<>();
+    private final Path exportDir;
+    private final long snapshotTtlMillis;
+    private final boolean readOnly;
+    private final boolean importEnabled;
+    private final Map<String, StoreSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong snapshotSequence = new AtomicLong();
+
+    public StoreExportService(
+        List<PersistedStore> stores,
+        @Value("${discodeit.export.dir:export}") String exportDir,
+        @Value("${discodeit.export.snapshot-ttl-minutes:60}") long snapshotTtlMinutes,
+        @Value("${discodeit.replication.role:standalone}") String replicationRole,
+        @Value("${discodeit.export.import-enabled:false}") boolean importEnabled
+    ) {
+        for (PersistedStore store : stores) {
+            this.stores.put(store.getStoreName(), store);
+        }
+        this.exportDir = Path.of(exportDir);
+        this.snapshotTtlMillis = TimeUnit.MINUTES.toMillis(snapshotTtlMinutes);
+        this.readOnly = "replica".equals(replicationRole); // replica 는 primary 의 변경 로그로만 갱신된다
+        this.importEnabled = importEnabled;
+        deleteLeftoverSnapshots();
+    }
+
+    public StoreSnapshot createSnapshot(String storeName) {
+        PersistedStore store = getStore(storeName);
+        deleteExpiredSnapshots();
+
+        String id = storeName + "-" + System.currentTimeMillis() + "-" + snapshotSequence.incrementAndGet();
+        Path target = exportDir.resolve(id + SNAPSHOT_SUFFIX);
+        Path source = store.getFile();
+        try {
+            Files.createDirectories(exportDir);
+            try {
+                Files.createLink(target, source);
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                Files.copy(source, target); // 다른 파일 시스템이거나 하드 링크를 지원하지 않는 경우
+            }
+            StoreSnapshot snapshot = new StoreSnapshot(id, storeName, target, Files.size(target), System.currentTimeMillis());
+            snapshots.put(id, snapshot);
+            return snapshot;
+        } catch (IOException e) {
+            throw new RuntimeException("스냅샷을 만드는데 실패했습니다.", e);
+        }
+    }
+
+    // 만료되었거나 다른 저장소의 스냅샷이면 empty
+    public Optional<StoreSnapshot> findSnapshot(String storeName, String snapshotId) {
+        getStore(storeName);
+        return Optional.ofNullable(snapshots.get(snapshotId))
+            .filter(snapshot -> snapshot.storeName().equals(storeName))
+            .filter(snapshot -> !isExpired(snapshot));
+    }
+
+    /**
+     * export 로 받은 파일로 저장소를 교체한다. 받은 내용은 저장 파일 옆의 임시 파일에 바로 쓰고, 검증이 끝나면 그 파일로 교체한다.
+     *
+     * @return 받은 bytes
+     */
+    public long importStore(String storeName, InputStream body) {
+        if (!importEnabled) {
+            throw new LogicException(ErrorCode.IMPORT_DISABLED);
+        }
+        if (readOnly) {
+            throw new LogicException(ErrorCode.READ_ONLY_REPLICA);
+        }
+        PersistedStore store = getStore(storeName);
+        Path dir = store.getFile().toAbsolutePath().getParent();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(dir, storeName, ".import");
+            long size = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 ReadableByteChannel in = Channels.newChannel(body)) {
+                long read;
+                while ((read = out.transferFrom(in, size, TRANSFER_CHUNK)) > 0) {
+                    size += read;
+                }
+            }
+            store.importFrom(temp);
+            logger.info("Imported {} store ({} bytes)", storeName, size);
+            return size;
+        } catch (IllegalArgumentException e) {
+            throw new LogicException(ErrorCode.INVALID_REQUEST);
+        } catch (IOException e) {
+            throw new RuntimeException("데이터를 가져오는데 실패했습니다.", e);
+        } finally {
+            deleteQuietly(temp); // 성공하면 이미 저장 파일로 옮겨져 있다
+        }
+    }
+
+    private PersistedStore getStore(String storeName) {
+        PersistedStore store = stores.get(storeName);
+        if (store == null) {
+            throw new LogicException(ErrorCode.INVALID_REQUEST);
+        }
+        return store;
+    }
+
+    private boolean isExpired(StoreSnapshot snapshot) {
+        return System.currentTimeMillis() - snapshot.createdAt() > snapshotTtlMillis;
+    }
+
+    private void deleteExpiredSnapshots() {
+        for (StoreSnapshot snapshot : snapshots.values()) {
+            if (isExpired(snapshot) && snapshots.remove(snapshot.id(), snapshot)) {
+                deleteQuietly(snapshot.file());
+            }
+        }
+    }
+
+    // 이전 실행에서 남은 스냅샷은 id 를 알 수 없어 이어받을 수 없으므로 지운다
+    private void deleteLeftoverSnapshots() {
+        if (!Files.isDirectory(exportDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(exportDir, "*" + SNAPSHOT_SUFFIX)) {
+            for (Path leftover : leftovers) {
+                deleteQuietly(leftover);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("export 디렉터리를 정리하는데 실패했습니다.", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}", path, e);
+        }
+    }
+}
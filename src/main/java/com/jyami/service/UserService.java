@@ -1,5 +1,9 @@
 package com.jyami.service;
 
+import com.jyami.dto.UserDto;
+import com.jyami.entity.User;
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
 import com.jyami.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,17 +13,44 @@ import org.springframework.stereotype.Service;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final SearchService searchService;
 
     // @Qualifier("userRepositoryListImpl")
     public UserService(
-        @Qualifier("userRepositoryListImpl") UserRepository userRepository,
+        @Qualifier("userRepositoryMvccImpl") UserRepository userRepository,
+        SearchService searchService,
         @Value("${project.name:hello}") String name
     ) {
         this.userRepository = userRepository;
+        this.searchService = searchService;
         System.out.println("project name: " + name);
+        // 이미 저장된 유저도 검색되도록 처음에 한 번 색인한다. 이후에는 create/update/delete 에서 맞춘다
+        userRepository.findAll().forEach(searchService::indexUser);
     }
 
     public UserRepository getUserRepository() {
         return userRepository;
     }
+
+    // 색인은 넘겨받은 객체가 아니라 색인 lock 안에서 다시 조회한 저장소 상태로 맞춘다. update 와 delete 가 엇갈려도 지운 유저가 남지 않는다
+    public User create(UserDto userDto) {
+        User user = userRepository.create(userDto);
+        searchService.syncUser(user.getId(), () -> userRepository.findById(user.getId()));
+        return user;
+    }
+
+    public User update(long userId, UserDto userDto) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new LogicException(ErrorCode.USER_NOT_FOUND));
+        userRepository.update(user, userDto);
+        searchService.syncUser(userId, () -> userRepository.findById(userId));
+        // 저장소에 따라 update 가 새 객체를 만들 수 있으므로 다시 조회해서 돌려준다
+        return userRepository.findById(userId)
+            .orElseThrow(() -> new LogicException(ErrorCode.USER_NOT_FOUND));
+    }
+
+    public void delete(long userId) {
+        userRepository.delete(userId);
+        searchService.syncUser(userId, () -> userRepository.findById(userId));
+    }
 }
@@ -0,0 +1,11 @@
+package com.jyami.singleton;
+
+public enum EnumSingleton {
+    INSTANCE; // 직렬화, 리플렉션으로도 두 번째 인스턴스를 만들 수 없다
+
+    public static final String TYPE = "ENUM";
+
+    public void showMessage() {
+        System.out.println("Enum Singleton Instance");
+    }
+}
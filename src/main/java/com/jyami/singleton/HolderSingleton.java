@@ -0,0 +1,20 @@
+package com.jyami.singleton;
+
+public class HolderSingleton {
+    public static final String TYPE = "HOLDER";
+
+    private HolderSingleton() {}
+
+    // Holder 클래스는 getInstance() 를 처음 호출할 때 초기화된다. 클래스 초기화는 JVM 이 동기화해 주므로 lock 이 필요 없다
+    private static class Holder {
+        private static final HolderSingleton INSTANCE = new HolderSingleton();
+    }
+
+    public static HolderSingleton getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public void showMessage() {
+        System.out.println("Holder Singleton Instance");
+    }
+}
@@ -0,0 +1,115 @@
+package com.jyami
+
+import java.io.BufferedReader
+import java.io.Writer
+import java.util.concurrent.TimeUnit
+
+// Main.kt 의 비대화형(batch) 모드. 동작은 Java 쪽 BatchCommandRunner 와 같다.
+// 명령을 BATCH_SIZE 개씩 모아서 목록에 반영하고(add 는 addAll, remove 는 목록을 한 번만 훑는다),
+// remove 성공 여부는 item 별 개수로 바로 판단한다. 출력은 명령마다 마지막 flush 뒤 FLUSH_INTERVAL_NANOS 가 지났거나
+// 다음 입력이 아직 도착하지 않았으면(input.ready() 가 false) flush 한다.
+
+const val READ_BUFFER_SIZE = 1 shl 20
+const val WRITE_BUFFER_SIZE = 1 shl 20
+private const val BATCH_SIZE = 64 * 1024
+private val FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100)
+
+data class BatchSummary(
+    val commands: Long,
+    val added: Long,
+    val removed: Long,
+    val notFound: Long,
+    val invalid: Long,
+    val elapsedNanos: Long,
+    val listSize: Int,
+) {
+    fun format(): String {
+        val seconds = elapsedNanos / 1_000_000_000.0
+        val throughput = if (seconds > 0) commands / seconds else 0.0
+        return "Processed %,d commands (add %,d, remove %,d, not found %,d, invalid %,d) in %,.0f ms: %,.0f commands/s, list size %,d"
+            .format(commands, added, removed, notFound, invalid, seconds * 1000, throughput, listSize)
+    }
+}
+
+fun runBatch(list: MutableList<String>, input: BufferedReader, out: Writer): BatchSummary {
+    val counts = HashMap<String, Int>() // item -> 반영 대기 중인 명령까지 포함한 개수
+    list.forEach { counts.merge(it, 1, Int::plus) }
+    val pendingAdds = ArrayList<String>()
+    val pendingRemoves = HashMap<String, Int>()
+    var pendingCommands = 0
+    var commands = 0L
+    var added = 0L
+    var removed = 0L
+    var notFound = 0L
+    var invalid = 0L
+
+    // list.remove(item) 는 앞쪽부터 지우므로, add 를 먼저 붙이고 앞에서부터 item 별 개수만큼 지우면 한 건씩 처리한 결과와 같다
+    fun applyBatch() {
+        list.addAll(pendingAdds)
+        pendingAdds.clear()
+        if (pendingRemoves.isNotEmpty()) {
+            list.removeIf { pendingRemoves.takeOne(it) }
+        }
+        pendingCommands = 0
+    }
+
+    fun execute(add: Boolean, item: String) {
+        when {
+            add -> {
+                pendingAdds.add(item)
+                counts.merge(item, 1, Int::plus)
+                added++
+                out.write("Item added: ")
+            }
+
+            counts.takeOne(item) -> {
+                pendingRemoves.merge(item, 1, Int::plus)
+                removed++
+                out.write("Item removed: ")
+            }
+
+            else -> {
+                notFound++
+                out.write("Item not found: ")
+            }
+        }
+        out.write(item)
+        out.write('\n'.code)
+    }
+
+    val start = System.nanoTime()
+    var lastFlush = start
+    while (true) {
+        val line = input.readLine() ?: break
+        if (line == "exit") break
+        commands++
+        when {
+            line == "add" || line == "remove" -> execute(line == "add", input.readLine() ?: break)
+            line.startsWith("add ") -> execute(true, line.removePrefix("add "))
+            line.startsWith("remove ") -> execute(false, line.removePrefix("remove "))
+            else -> {
+                invalid++
+                out.write("Invalid command.\n")
+            }
+        }
+
+        if (++pendingCommands == BATCH_SIZE) {
+            applyBatch()
+        }
+        // 다음 readLine 이 막힐 수 있으면 막히기 전에 내보낸다
+        val now = System.nanoTime()
+        if (now - lastFlush >= FLUSH_INTERVAL_NANOS || !input.ready()) {
+            out.flush()
+            lastFlush = now
+        }
+    }
+    applyBatch()
+    out.flush()
+    return BatchSummary(commands, added, removed, notFound, invalid, System.nanoTime() - start, list.size)
+}
+
+private fun MutableMap<String, Int>.takeOne(item: String): Boolean {
+    val count = get(item) ?: return false
+    if (count == 1) remove(item) else put(item, count - 1)
+    return true
+}
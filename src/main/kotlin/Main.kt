@@ -1,5 +1,10 @@
 package com.jyami
 
+import java.io.FileDescriptor
+import java.io.FileOutputStream
+import java.nio.file.Files
+import java.nio.file.Path
+
 // gc options:
 // -Xms10MB
 // -Xmx50MB
@@ -7,9 +12,14 @@ package com.jyami
 // -XX:+HeapDumpOnOutOfMemoryError
 // -XX:HeapDumpPath=logs
 //
+// batch mode: java com.jyami.MainKt --batch [commands.txt]   (파일을 생략하면 stdin)
 
-fun main() {
+fun main(args: Array<String>) {
     val list = mutableListOf<String>()
+    if (args.firstOrNull() == "--batch") {
+        runBatch(list, args.getOrElse(1) { "-" })
+        return
+    }
     println("Hello World!")
 
     val scanner = java.util.Scanner(System.`in`)
@@ -55,3 +65,15 @@ fun main() {
         }
     }
 }
+
+private fun runBatch(list: MutableList<String>, input: String) {
+    val source = if (input == "-") System.`in` else Files.newInputStream(Path.of(input))
+    // System.out(PrintStream) 은 호출마다 lock 을 잡으므로 stdout 에 직접 버퍼를 단다
+    val stdout = FileOutputStream(FileDescriptor.out)
+    source.reader(Charsets.UTF_8).buffered(READ_BUFFER_SIZE).use { reader ->
+        stdout.writer(Charsets.UTF_8).buffered(WRITE_BUFFER_SIZE).use { writer ->
+            val summary = runBatch(list, reader, writer)
+            System.err.println(summary.format()) // 출력(stdout)을 파이프로 넘겨도 섞이지 않게 stderr 로
+        }
+    }
+}
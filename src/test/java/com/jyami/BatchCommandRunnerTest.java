@@ -0,0 +1,94 @@
+package com.jyami;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchCommandRunnerTest {
+
+    @Test
+    @DisplayName("대화형 형식과 한 줄 형식을 모두 받고, 명령 순서대로 출력한다")
+    void testOutput() throws IOException {
+        String input = String.join("\n", "add", "a", "add b", "remove", "a", "remove c", "loop", "exit", "add d");
+        List<String> list = new ArrayList<>();
+        StringWriter out = new StringWriter();
+
+        BatchCommandRunner.Summary summary = new BatchCommandRunner(list).run(new BufferedReader(new StringReader(input)), out);
+
+        assertEquals("Item added: a\nItem added: b\nItem removed: a\nItem not found: c\nInvalid command.\n", out.toString());
+        assertEquals(List.of("b"), list);
+        assertEquals(5, summary.commands());
+        assertEquals(1, summary.notFound());
+        assertEquals(1, summary.invalid());
+    }
+
+    @Test
+    @DisplayName("모아서 반영한 결과가 한 건씩 add / remove 한 결과와 같다")
+    void testSameAsSequential() throws IOException {
+        Random random = new Random(42);
+        StringBuilder input = new StringBuilder();
+        List<String> expected = new ArrayList<>(List.of("x1", "x2", "x1"));
+        StringBuilder expectedOut = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            String item = "x" + random.nextInt(50);
+            if (random.nextInt(3) == 0) {
+                input.append("remove ").append(item).append('\n');
+                expectedOut.append(expected.remove(item) ? "Item removed: " : "Item not found: ").append(item).append('\n');
+            } else {
+                input.append("add ").append(item).append('\n');
+                expected.add(item);
+                expectedOut.append("Item added: ").append(item).append('\n');
+            }
+        }
+        List<String> list = new ArrayList<>(List.of("x1", "x2", "x1"));
+        StringWriter out = new StringWriter();
+
+        new BatchCommandRunner(list).run(new BufferedReader(new StringReader(input.toString())), out);
+
+        assertEquals(expected, list);
+        assertEquals(expectedOut.toString(), out.toString());
+    }
+
+    @Test
+    @DisplayName("입력이 끊기면 EOF 를 기다리지 않고 그때까지의 결과를 flush 한다")
+    void testFlushWhileWaitingForInput() throws Exception {
+        PipedWriter input = new PipedWriter();
+        BufferedReader in = new BufferedReader(new PipedReader(input));
+        StringWriter sink = new StringWriter();
+        BufferedWriter out = new BufferedWriter(sink, BatchCommandRunner.WRITE_BUFFER_SIZE);
+        CompletableFuture<BatchCommandRunner.Summary> run = CompletableFuture.supplyAsync(() -> {
+            try {
+                return new BatchCommandRunner(new ArrayList<>()).run(in, out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        input.write("add a\nremove b\n");
+        input.flush();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!sink.toString().equals("Item added: a\nItem not found: b\n") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("Item added: a\nItem not found: b\n", sink.toString());
+        assertFalse(run.isDone());
+
+        input.write("exit\n");
+        input.close();
+        assertEquals(2, run.get(5, TimeUnit.SECONDS).commands());
+    }
+}
@@ -0,0 +1,152 @@
+package com.jyami.controller;
+
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.file.Channel;
+import com.jyami.file.FileChannelRepository;
+import com.jyami.service.StoreExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoreExportControllerTest {
+
+    private FileChannelRepository repository;
+    private StoreExportController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path dir = Files.createTempDirectory("export-controller");
+        repository = new FileChannelRepository(dir.resolve("channel.dat").toString());
+        repository.addChannel(new Channel("general"));
+        repository.addChannel(new Channel("random"));
+        StoreExportService service = new StoreExportService(List.of(repository), dir.resolve("export").toString(), 60, "standalone", false);
+        controller = new StoreExportController(service);
+    }
+
+    @Test
+    @DisplayName("Range 없이 받으면 새 스냅샷 전체와 ETag 를 돌려준다")
+    void fullExport() throws IOException {
+        MockHttpServletResponse response = export(null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(Files.readAllBytes(repository.getFile()), response.getContentAsByteArray());
+        assertEquals(response.getContentAsByteArray().length, response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertNull(response.getHeader("Content-Range"));
+        assertTrue(response.getHeader("ETag").matches("\"channel-.+\""));
+    }
+
+    @Test
+    @DisplayName("snapshot 파라미터로 이어받으면 그 사이 바뀐 내용과 상관없이 같은 스냅샷의 나머지를 준다")
+    void resumeWithSnapshotParameter() throws IOException {
+        MockHttpServletResponse first = export(null, null, null);
+        byte[] full = first.getContentAsByteArray();
+        repository.addChannel(new Channel("notice"));
+
+        MockHttpServletResponse resumed = export(snapshotId(first), "bytes=10-", null);
+
+        assertEquals(206, resumed.getStatus());
+        assertEquals("bytes 10-" + (full.length - 1) + "/" + full.length, resumed.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(full, 10, full.length), resumed.getContentAsByteArray());
+        assertEquals(first.getHeader("ETag"), resumed.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("If-Range 가 같은 스냅샷이면 Range 를 적용한다")
+    void ifRangeMatches() {
+        MockHttpServletResponse first = export(null, null, null);
+        byte[] full = first.getContentAsByteArray();
+
+        MockHttpServletResponse suffix = export(null, "bytes=-5", first.getHeader("ETag"));
+        assertEquals(206, suffix.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(full, full.length - 5, full.length), suffix.getContentAsByteArray());
+
+        MockHttpServletResponse middle = export(null, "bytes=2-4", "W/" + first.getHeader("ETag"));
+        assertEquals(206, middle.getStatus());
+        assertEquals("bytes 2-4/" + full.length, middle.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(full, 2, 5), middle.getContentAsByteArray());
+
+        MockHttpServletResponse clamped = export(null, "bytes=0-999999", first.getHeader("ETag"));
+        assertEquals(206, clamped.getStatus());
+        assertArrayEquals(full, clamped.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("If-Range 가 없거나 모르는 스냅샷이면 Range 를 무시하고 새 스냅샷 전체를 준다")
+    void staleIfRangeRestartsFromScratch() throws IOException {
+        MockHttpServletResponse withoutIfRange = export(null, "bytes=10-", null);
+        assertEquals(200, withoutIfRange.getStatus());
+
+        MockHttpServletResponse stale = export(null, "bytes=10-", "\"channel-unknown\"");
+        assertEquals(200, stale.getStatus());
+        assertNull(stale.getHeader("Content-Range"));
+        assertNotEquals("\"channel-unknown\"", stale.getHeader("ETag"));
+        assertArrayEquals(Files.readAllBytes(repository.getFile()), stale.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("만족할 수 없는 Range 는 416 과 전체 크기를 돌려준다")
+    void unsatisfiableRange() {
+        MockHttpServletResponse first = export(null, null, null);
+        int size = first.getContentAsByteArray().length;
+        String snapshotId = snapshotId(first);
+
+        for (String range : List.of("bytes=" + size + "-", "bytes=5-2", "bytes=0-1,3-4", "items=0-1", "bytes=abc-", "bytes=5", "bytes=-0")) {
+            MockHttpServletResponse response = export(snapshotId, range, null);
+
+            assertEquals(416, response.getStatus(), range);
+            assertEquals("bytes */" + size, response.getHeader("Content-Range"), range);
+            assertEquals(0, response.getContentAsByteArray().length, range);
+        }
+    }
+
+    @Test
+    @DisplayName("snapshot 파라미터의 스냅샷이 없으면 SNAPSHOT_NOT_FOUND")
+    void unknownSnapshot() {
+        LogicException e = assertThrows(LogicException.class, () -> export("channel-unknown", "bytes=10-", null));
+        assertEquals(ErrorCode.SNAPSHOT_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("커넥터가 sendfile 을 지원하면 본문은 쓰지 않고 파일 구간만 넘긴다")
+    void sendfile() throws IOException {
+        MockHttpServletResponse first = export(null, null, null);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.export("channel", snapshotId(first), "bytes=3-", null, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(3L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) first.getContentAsByteArray().length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertTrue(Files.exists(Path.of((String) request.getAttribute("org.apache.tomcat.sendfile.filename"))));
+    }
+
+    private MockHttpServletResponse export(String snapshot, String range, String ifRange) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            controller.export("channel", snapshot, range, ifRange, new MockHttpServletRequest(), response);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return response;
+    }
+
+    private static String snapshotId(MockHttpServletResponse response) {
+        String etag = response.getHeader("ETag");
+        return etag.substring(1, etag.length() - 1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.jyami.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 발급해도 ID는 중복되지 않는다")
+    void uniqueAcrossThreads() throws InterruptedException {
+        IdGenerator generator = new SnowflakeIdGenerator(3);
+        int threads = 32; // stripe 수보다 많은 스레드
+        int perThread = 20_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                try {
+                    latch.await();
+                    for (int j = 0; j < perThread; j++) {
+                        ids.add(generator.nextId());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        latch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    @DisplayName("같은 스레드에서 발급한 ID는 증가하고 node id 가 들어있다")
+    void monotonicPerThread() {
+        IdGenerator generator = new SnowflakeIdGenerator(5);
+        long before = System.currentTimeMillis();
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+
+        assertEquals(5, SnowflakeIdGenerator.nodeIdOf(previous));
+        assertTrue(SnowflakeIdGenerator.timestampOf(previous) >= before);
+    }
+
+    @Test
+    @DisplayName("다른 node 에서 같은 시각에 발급한 ID는 겹치지 않는다")
+    void differentNodes() {
+        IdGenerator node1 = new SnowflakeIdGenerator(1, () -> SnowflakeIdGenerator.EPOCH + 1000);
+        IdGenerator node2 = new SnowflakeIdGenerator(2, () -> SnowflakeIdGenerator.EPOCH + 1000);
+
+        assertNotEquals(node1.nextId(), node2.nextId());
+    }
+
+    @Test
+    @DisplayName("sequence 를 다 쓰면 다음 밀리초로 넘어간다")
+    void sequenceOverflow() {
+        IdGenerator generator = new SnowflakeIdGenerator(0, () -> SnowflakeIdGenerator.EPOCH + 1000);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < SnowflakeIdGenerator.MAX_SEQUENCE + 10; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(SnowflakeIdGenerator.EPOCH + 1001, SnowflakeIdGenerator.timestampOf(previous));
+    }
+
+    @Test
+    @DisplayName("node id 범위를 벗어나면 예외")
+    void invalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
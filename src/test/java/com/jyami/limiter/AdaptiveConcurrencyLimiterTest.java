@@ -0,0 +1,117 @@
+package com.jyami.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private long now;
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 100, () -> now);
+
+    @Test
+    @DisplayName("한도만큼 차면 다음 요청은 바로 거절된다")
+    void rejectWhenFull() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire() >= 0);
+        }
+        assertEquals(-1, limiter.tryAcquire());
+
+        limiter.release(now);
+        assertTrue(limiter.tryAcquire() >= 0);
+    }
+
+    @Test
+    @DisplayName("응답 시간이 일정하고 한도를 다 쓰면 한도가 늘어난다")
+    void growWhenLatencyStable() {
+        for (int window = 0; window < 50; window++) {
+            runWindow(limiter.getLimit(), 10);
+        }
+        assertTrue(limiter.getLimit() > 20, "limit: " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("동시 요청이 늘수록 느려지는 저장소 앞에서는 한도가 처리 능력 근처로 줄어든다")
+    void shrinkWhenLatencyGrows() {
+        for (int window = 0; window < 20; window++) {
+            runWindow(limiter.getLimit(), 10);
+        }
+        int before = limiter.getLimit();
+
+        for (int window = 0; window < 100; window++) {
+            // 동시에 10개까지만 처리할 수 있고 나머지는 줄을 서는 상황
+            int concurrency = limiter.getLimit();
+            runWindow(concurrency, 10L * Math.max(1, concurrency / 10));
+        }
+        assertTrue(limiter.getLimit() < before, before + " -> " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 10 && limiter.getLimit() <= 25, "limit: " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("저장소가 갑자기 느려지면 한도가 최소값까지 줄어든다")
+    void shrinkToMinimumOnStall() {
+        for (int window = 0; window < 20; window++) {
+            runWindow(limiter.getLimit(), 10);
+        }
+        for (int window = 0; window < 10; window++) {
+            runWindow(limiter.getLimit(), 500);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("느려지면 한 구간 만에 최대 절반까지 줄어든다")
+    void shrinkByAtMostHalfPerWindow() {
+        for (int window = 0; window < 50; window++) {
+            runWindow(limiter.getLimit(), 10);
+        }
+        // 구간은 응답이 들어올 때 닫히므로, 첫 번째 느린 묶음은 이전 구간의 남은 응답과 섞인 구간을 닫는다
+        releaseTogether(limiter.getLimit(), 500);
+        int before = limiter.getLimit();
+
+        releaseTogether(before, 500); // 느린 응답만으로 이루어진 구간 하나가 닫힌다
+
+        int after = limiter.getLimit();
+        assertTrue(after >= before / 2, before + " -> " + after);
+        assertTrue(after <= (int) (before * 0.5 + Math.sqrt(before)), before + " -> " + after);
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않으면 한도를 바꾸지 않는다")
+    void keepLimitWhenIdle() {
+        for (int window = 0; window < 50; window++) {
+            runWindow(2, 10);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    // concurrency 개를 동시에 받아 latencyMillis 뒤에 모두 끝낸다. 구간은 많아야 한 번 닫힌다
+    private void releaseTogether(int concurrency, long latencyMillis) {
+        long[] starts = new long[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            starts[i] = limiter.tryAcquire();
+        }
+        now += latencyMillis * 1_000_000;
+        for (long start : starts) {
+            limiter.release(start);
+        }
+    }
+
+    // concurrency 개를 동시에 받아 latencyMillis 뒤에 끝내는 구간을 한 번 흘려보낸다
+    private void runWindow(int concurrency, long latencyMillis) {
+        for (int round = 0; round < AdaptiveConcurrencyLimiter.MIN_WINDOW_SAMPLES; round++) {
+            long[] starts = new long[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                starts[i] = limiter.tryAcquire();
+            }
+            now += latencyMillis * 1_000_000;
+            for (long start : starts) {
+                if (start >= 0) {
+                    limiter.release(start);
+                }
+            }
+        }
+        now += 100 * 1_000_000;
+    }
+}
@@ -0,0 +1,145 @@
+package com.jyami.replication;
+
+import com.jyami.file.Channel;
+import com.jyami.file.FileChannelRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelReplicationTest {
+
+    private Path dir;
+    private FileChannelRepository primaryRepository;
+    private FileChannelRepository replicaRepository;
+    private ChannelReplicationPrimary primary;
+    private ChannelReplicationReplica replica;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("replication");
+        primaryRepository = new FileChannelRepository(dir.resolve("primary.ser").toString());
+        replicaRepository = new FileChannelRepository(dir.resolve("replica.ser").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (replica != null) {
+            replica.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+    }
+
+    @Test
+    @DisplayName("replica 는 스냅샷을 받은 뒤 이후 변경 로그를 계속 반영한다")
+    void snapshotThenStream() throws Exception {
+        primaryRepository.addChannel(new Channel("general"));
+        primaryRepository.addChannel(new Channel("random"));
+        startPrimary(100);
+        startReplica();
+
+        await(() -> replicaRepository.getChannelList().size() == 2);
+
+        primaryRepository.addChannel(new Channel("notice"));
+        await(() -> replicaRepository.getChannelList().size() == 3);
+        await(() -> replica.getLagSequences() == 0);
+        assertTrue(replicaRepository.getChannelList().contains(new Channel("notice")));
+        assertEquals(primaryRepository.getSequence(), replicaRepository.getSequence());
+    }
+
+    @Test
+    @DisplayName("backlog 보다 뒤처진 replica 는 스냅샷으로 따라잡는다")
+    void laggingReplicaCatchesUpFromSnapshot() throws Exception {
+        startPrimary(5);
+        startReplica();
+        primaryRepository.addChannel(new Channel("channel-0"));
+        await(() -> replicaRepository.getChannelList().size() == 1);
+
+        replica.close();
+        for (int i = 1; i <= 20; i++) {
+            primaryRepository.addChannel(new Channel("channel-" + i));
+        }
+        assertEquals(1, replicaRepository.getChannelList().size());
+
+        startReplica();
+        await(() -> replicaRepository.getChannelList().size() == 21);
+        assertEquals(primaryRepository.getSequence(), replicaRepository.getSequence());
+
+        // 재시작한 replica 의 파일에도 반영되어 있다
+        FileChannelRepository reloaded = new FileChannelRepository(dir.resolve("replica.ser").toString());
+        assertEquals(21, reloaded.getChannelList().size());
+    }
+
+    @Test
+    @DisplayName("backlog 안에서 재접속한 replica 는 빠진 변경 로그만 받는다")
+    void reconnectingReplicaCatchesUpFromBacklog() throws Exception {
+        startPrimary(100);
+        replica = new ChannelReplicationReplica(replicaRepository, "localhost", primary.getLocalPort(), 500);
+        replica.start();
+        primaryRepository.addChannel(new Channel("channel-0"));
+        await(() -> replicaRepository.getChannelList().size() == 1);
+        assertEquals(1, primary.getSnapshotResyncs());
+
+        // replica 는 reconnect delay 동안 끊겨 있으므로 아래 변경은 재접속할 때 backlog 로 받는다
+        primary.disconnectReplicas();
+        for (int i = 1; i <= 3; i++) {
+            primaryRepository.addChannel(new Channel("channel-" + i));
+        }
+
+        await(() -> replicaRepository.getChannelList().size() == 4);
+        assertEquals(primaryRepository.getSequence(), replicaRepository.getSequence());
+        assertEquals(1, primary.getSnapshotResyncs());
+        assertEquals(1, primary.getBacklogResyncs());
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 변경은 메모리에도 남지 않고 replica 로도 보내지 않는다")
+    void failedSaveDoesNotDiverge() throws Exception {
+        startPrimary(100);
+        startReplica();
+        primaryRepository.addChannel(new Channel("general"));
+        await(() -> replicaRepository.getChannelList().size() == 1);
+
+        Path tempFile = dir.resolve("primary.ser.tmp");
+        Files.createDirectory(tempFile); // 임시 파일 자리에 디렉터리가 있으면 저장이 실패한다
+        assertThrows(RuntimeException.class, () -> primaryRepository.addChannel(new Channel("lost")));
+        assertEquals(1, primaryRepository.getChannelList().size());
+        assertEquals(1, primaryRepository.getSequence());
+
+        Files.delete(tempFile);
+        primaryRepository.addChannel(new Channel("random"));
+        await(() -> replicaRepository.getChannelList().size() == 2);
+        assertEquals(Set.copyOf(primaryRepository.getChannelList()), Set.copyOf(replicaRepository.getChannelList()));
+        assertFalse(replicaRepository.getChannelList().contains(new Channel("lost")));
+    }
+
+    private void startPrimary(int backlogSize) throws IOException {
+        primary = new ChannelReplicationPrimary(primaryRepository, 0, backlogSize);
+        primary.start();
+    }
+
+    private void startReplica() {
+        replica = new ChannelReplicationReplica(replicaRepository, "localhost", primary.getLocalPort(), 100);
+        replica.start();
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("timed out waiting for replication");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.jyami.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadStatusColdStoreTest {
+
+    private Path dir;
+    private ReadStatusColdStore coldStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("cold");
+        coldStore = new ReadStatusColdStore(dir.toString(), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coldStore.close();
+    }
+
+    @Test
+    @DisplayName("옮긴 행을 id 로 찾고, 같은 id 는 최신 segment 의 값을 돌려준다")
+    void testGetNewest() throws IOException {
+        write(rows(1_000, 4_000, 10L)); // id 1000, 1003, ..., 3997 (page 여러 개)
+        write(new long[]{1_003L, 7L, 7L, 77L});
+
+        assertArrayEquals(new long[]{1_000L, 1_000L, 1_000L, 10L}, coldStore.get(1_000L, ReadStatusColdStoreTest::row));
+        assertArrayEquals(new long[]{3_997L, 3_997L, 3_997L, 10L}, coldStore.get(3_997L, ReadStatusColdStoreTest::row));
+        assertArrayEquals(new long[]{1_003L, 7L, 7L, 77L}, coldStore.get(1_003L, ReadStatusColdStoreTest::row));
+        assertNull(coldStore.get(1_001L, ReadStatusColdStoreTest::row));
+        assertNull(coldStore.get(999L, ReadStatusColdStoreTest::row));
+    }
+
+    @Test
+    @DisplayName("getAll 은 여러 page 를 읽어 찾은 행과 없는 id 를 나눠 준다")
+    void testGetAll() throws IOException {
+        write(rows(0, 3_000, 10L));
+        write(rows(3_000, 6_000, 20L));
+        List<long[]> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+
+        coldStore.getAll(new long[]{5_997L, 1L, 0L, 2_997L, 3_000L, 9_000L}, ReadStatusColdStoreTest::row, found, missing::add);
+
+        assertEquals(List.of(1L, 9_000L), missing);
+        assertEquals(4, found.size());
+        assertTrue(found.stream().anyMatch(r -> r[0] == 5_997L && r[3] == 20L));
+        assertTrue(found.stream().anyMatch(r -> r[0] == 2_997L && r[3] == 10L));
+    }
+
+    @Test
+    @DisplayName("segment 가 많아지면 하나로 합치고, 같은 id 는 최신 값만 남긴다")
+    void testCompact() throws IOException {
+        for (int i = 0; i < 9; i++) {
+            write(new long[]{1L, 1L, 1L, i, 50L, 5L, 5L, i, 100L + i, 1L, 1L, i});
+        }
+        assertEquals(9, coldStore.segmentCount());
+        assertEquals(27, coldStore.recordCount());
+
+        coldStore.compact();
+
+        assertEquals(1, coldStore.segmentCount());
+        assertEquals(11, coldStore.recordCount()); // 1, 50 한 건씩 + 100 ~ 108
+        assertArrayEquals(new long[]{1L, 1L, 1L, 8L}, coldStore.get(1L, ReadStatusColdStoreTest::row));
+        assertArrayEquals(new long[]{50L, 5L, 5L, 8L}, coldStore.get(50L, ReadStatusColdStoreTest::row));
+        assertArrayEquals(new long[]{108L, 1L, 1L, 8L}, coldStore.get(108L, ReadStatusColdStoreTest::row));
+    }
+
+    @Test
+    @DisplayName("compact 는 크기가 비슷한 최신 segment 만 합치고 오래된 큰 segment 는 다시 쓰지 않는다")
+    void testCompactTiered() throws IOException {
+        write(rows(0, 30_000, 1L)); // 10,000 건
+        for (int i = 0; i < 3; i++) {
+            write(new long[]{100_000L + i, 1L, 1L, 2L});
+        }
+        coldStore.compact();
+        assertEquals(4, coldStore.segmentCount()); // 작은 segment 가 TIER_WIDTH 개가 안 된다
+
+        write(new long[]{3L, 3L, 3L, 3L});
+        coldStore.compact();
+
+        assertEquals(2, coldStore.segmentCount()); // 작은 4개만 합친다
+        assertEquals(10_004, coldStore.recordCount());
+        assertArrayEquals(new long[]{3L, 3L, 3L, 3L}, coldStore.get(3L, ReadStatusColdStoreTest::row));
+        assertArrayEquals(new long[]{6L, 6L, 6L, 1L}, coldStore.get(6L, ReadStatusColdStoreTest::row));
+        assertArrayEquals(new long[]{100_002L, 1L, 1L, 2L}, coldStore.get(100_002L, ReadStatusColdStoreTest::row));
+        coldStore.close();
+
+        coldStore = new ReadStatusColdStore(dir.toString(), 4);
+
+        assertEquals(2, coldStore.segmentCount());
+        assertArrayEquals(new long[]{3L, 3L, 3L, 3L}, coldStore.get(3L, ReadStatusColdStoreTest::row));
+    }
+
+    @Test
+    @DisplayName("다시 열어도 segment 를 그대로 읽는다")
+    void testReopen() throws IOException {
+        write(rows(0, 600, 10L));
+        coldStore.close();
+
+        coldStore = new ReadStatusColdStore(dir.toString(), 4);
+
+        assertEquals(200, coldStore.recordCount());
+        assertArrayEquals(new long[]{597L, 597L, 597L, 10L}, coldStore.get(597L, ReadStatusColdStoreTest::row));
+    }
+
+    @Test
+    @DisplayName("읽던 스레드가 interrupt 되어 channel 이 닫혀도 다른 스레드는 계속 읽는다")
+    void testInterruptedReader() throws Exception {
+        write(rows(0, 6_000, 10L));
+        AtomicReference<Throwable> interruptedRead = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            Thread.currentThread().interrupt();
+            try {
+                coldStore.get(3L, ReadStatusColdStoreTest::row);
+            } catch (Throwable e) {
+                interruptedRead.set(e);
+            }
+        });
+        reader.start();
+        reader.join();
+
+        assertInstanceOf(UncheckedIOException.class, interruptedRead.get());
+        assertInstanceOf(ClosedByInterruptException.class, interruptedRead.get().getCause());
+        assertArrayEquals(new long[]{3L, 3L, 3L, 10L}, coldStore.get(3L, ReadStatusColdStoreTest::row));
+        List<long[]> found = new ArrayList<>();
+        coldStore.getAll(new long[]{0L, 2_997L, 5_997L}, ReadStatusColdStoreTest::row, found, id -> fail("missing " + id));
+        assertEquals(3, found.size());
+    }
+
+    @Test
+    @DisplayName("compact 가 segment 를 닫고 지우는 중에도 get / getAll 은 새 segment 에서 찾는다")
+    void testReadDuringCompact() throws Exception {
+        write(rows(0, 6_000, 0L));
+        AtomicBoolean compacting = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            int seed = r;
+            results.add(readers.submit(() -> {
+                Random random = new Random(seed);
+                int reads = 0;
+                while (compacting.get()) {
+                    long id = random.nextInt(2_000) * 3L;
+                    long[] one = coldStore.get(id, ReadStatusColdStoreTest::row);
+                    assertNotNull(one, "id " + id);
+                    assertEquals(id, one[1]);
+
+                    long[] ids = {id, (id + 3_000) % 6_000, 1L};
+                    List<long[]> found = new ArrayList<>();
+                    List<Long> missing = new ArrayList<>();
+                    coldStore.getAll(ids, ReadStatusColdStoreTest::row, found, missing::add);
+                    assertEquals(2, found.size());
+                    assertEquals(List.of(1L), missing);
+                    reads++;
+                }
+                return reads;
+            }));
+        }
+
+        try {
+            for (int round = 1; round <= 20; round++) {
+                for (int i = 0; i < 8; i++) {
+                    write(rows(i * 750L, (i + 1) * 750L, round)); // 모든 id 를 다시 쓴다
+                }
+                coldStore.compact();
+                assertTrue(coldStore.segmentCount() < 8);
+            }
+        } finally {
+            compacting.set(false);
+            readers.shutdown();
+        }
+        for (Future<Integer> result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS) > 0);
+        }
+        assertEquals(20L, coldStore.get(3L, ReadStatusColdStoreTest::row)[3]);
+    }
+
+    private void write(long[] rows) throws IOException {
+        coldStore.write(rows, rows.length / 4);
+    }
+
+    // [from, to) 에서 3 간격의 id 를 역순으로 (write 가 정렬하는지 확인)
+    private static long[] rows(long from, long to, long lastReadAt) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = from; id < to; id += 3) {
+            ids.add(0, id);
+        }
+        long[] rows = new long[ids.size() * 4];
+        for (int i = 0; i < ids.size(); i++) {
+            rows[i * 4] = ids.get(i);
+            rows[i * 4 + 1] = ids.get(i);
+            rows[i * 4 + 2] = ids.get(i);
+            rows[i * 4 + 3] = lastReadAt;
+        }
+        return rows;
+    }
+
+    private static long[] row(long id, long userId, long channelId, long lastReadAt) {
+        return new long[]{id, userId, channelId, lastReadAt};
+    }
+}
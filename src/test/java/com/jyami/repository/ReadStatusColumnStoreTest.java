@@ -0,0 +1,192 @@
+package com.jyami.repository;
+
+import com.jyami.entity.ReadStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadStatusColumnStoreTest {
+    private ReadStatusColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ReadStatusColumnStore(16);
+    }
+
+    @Test
+    @DisplayName("저장한 행을 그대로 조회하고, 같은 id 로 다시 넣으면 덮어쓴다")
+    void testPutAndGet() {
+        store.put(1L, 10L, 100L, 1_700_000_000L);
+        store.put(2L, 20L, 200L, ReadStatus.NO_LAST_READ_AT);
+
+        assertArrayEquals(new long[]{1L, 10L, 100L, 1_700_000_000L}, store.get(1L, ReadStatusColumnStoreTest::row));
+        assertEquals(ReadStatus.NO_LAST_READ_AT, store.get(2L, ReadStatusColumnStoreTest::row)[3]);
+        assertNull(store.get(3L, ReadStatusColumnStoreTest::row));
+
+        store.put(1L, 11L, 101L, 1_700_000_001L);
+
+        assertEquals(2, store.size());
+        assertArrayEquals(new long[]{1L, 11L, 101L, 1_700_000_001L}, store.get(1L, ReadStatusColumnStoreTest::row));
+    }
+
+    @Test
+    @DisplayName("용량을 넘겨 늘어나도 모든 행을 찾는다")
+    void testGrow() {
+        for (long id = 1; id <= 10_000; id++) {
+            store.put(id << 12, id, id * 2, id * 3); // snowflake 처럼 하위 비트가 비어 있는 id
+        }
+
+        assertEquals(10_000, store.size());
+        for (long id = 1; id <= 10_000; id++) {
+            assertArrayEquals(new long[]{id << 12, id, id * 2, id * 3}, store.get(id << 12, ReadStatusColumnStoreTest::row));
+        }
+    }
+
+    @Test
+    @DisplayName("삭제 후에도 남은 행은 모두 찾고, 지운 행은 찾지 않는다")
+    void testRemove() {
+        Random random = new Random(42);
+        long[] ids = new long[5_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = random.nextLong();
+            store.put(ids[i], i, i, i);
+        }
+
+        for (int i = 0; i < ids.length; i += 2) {
+            assertTrue(store.remove(ids[i]));
+        }
+        assertFalse(store.remove(ids[0]));
+
+        assertEquals(ids.length / 2, store.size());
+        for (int i = 0; i < ids.length; i++) {
+            if (i % 2 == 0) {
+                assertFalse(store.contains(ids[i]));
+            } else {
+                assertEquals(i, store.get(ids[i], ReadStatusColumnStoreTest::row)[1]);
+            }
+        }
+
+        store.put(ids[0], 7L, 7L, 7L);
+        assertEquals(7L, store.get(ids[0], ReadStatusColumnStoreTest::row)[1]);
+    }
+
+    @Test
+    @DisplayName("getAll 은 찾은 행을 요청 순서대로 돌려주고 없는 id 는 따로 알려준다")
+    void testGetAll() {
+        store.put(1L, 10L, 100L, 1_000L);
+        store.put(2L, 20L, 200L, 2_000L);
+        store.put(3L, 30L, 300L, 3_000L);
+        List<long[]> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+
+        store.getAll(new long[]{3L, 9L, 1L, 8L}, ReadStatusColumnStoreTest::row, found, missing::add);
+
+        assertEquals(2, found.size());
+        assertArrayEquals(new long[]{3L, 30L, 300L, 3_000L}, found.get(0));
+        assertArrayEquals(new long[]{1L, 10L, 100L, 1_000L}, found.get(1));
+        assertEquals(List.of(9L, 8L), missing);
+    }
+
+    @Test
+    @DisplayName("lastReadAt 과 마지막 접근이 모두 오래된 행만 sink 로 넘기고 지운다")
+    void testEvictStale() throws Exception {
+        long day = TimeUnit.DAYS.toMillis(1);
+        AtomicLong now = new AtomicLong(100 * day);
+        ReadStatusColumnStore store = new ReadStatusColumnStore(16, now::get);
+        long oldReadAt = 10 * day / 1000;
+        long recentReadAt = 130 * day / 1000;
+        for (long id = 1; id <= 1_000; id++) {
+            store.put(id, id, id, id % 2 == 0 ? oldReadAt : recentReadAt); // 짝수 id 만 오래 전에 읽었다
+        }
+        now.set(140 * day);
+        store.get(2L, ReadStatusColumnStoreTest::row); // 최근에 조회했으므로 남는다
+
+        List<Long> evictedIds = new ArrayList<>();
+        int evicted = store.evictStale(30 * day, 64, (rows, count) -> {
+            for (int i = 0; i < count; i++) {
+                evictedIds.add(rows[i * 4]);
+                assertEquals(oldReadAt, rows[i * 4 + 3]);
+            }
+        });
+
+        assertEquals(499, evicted);
+        assertEquals(499, evictedIds.size());
+        assertEquals(501, store.size());
+        assertTrue(store.contains(2L));
+        assertFalse(store.contains(4L));
+        assertTrue(store.contains(3L));
+        for (long id : evictedIds) {
+            assertEquals(0, id % 2);
+            assertFalse(store.contains(id));
+        }
+    }
+
+    @Test
+    @DisplayName("대부분 옮기고 나면 배열을 줄이고, 남은 행은 그대로 찾는다")
+    void testEvictStaleShrinks() throws Exception {
+        long day = TimeUnit.DAYS.toMillis(1);
+        AtomicLong now = new AtomicLong(0);
+        ReadStatusColumnStore store = new ReadStatusColumnStore(16, now::get);
+        for (long id = 1; id <= 10_000; id++) {
+            store.put(id, id, id, id <= 100 ? 100 * day / 1000 : 0L); // 1 ~ 100 만 최근에 읽었다
+        }
+        long before = store.footprintBytes();
+        now.set(100 * day);
+
+        store.evictStale(30 * day, 1_000, (rows, count) -> { });
+
+        assertEquals(100, store.size());
+        assertTrue(store.footprintBytes() < before / 10);
+        for (long id = 1; id <= 100; id++) {
+            assertEquals(id, store.get(id, ReadStatusColumnStoreTest::row)[1]);
+        }
+    }
+
+    @Test
+    @DisplayName("sink 에 쓰는 사이 다시 조회된 행은 지우지 않는다")
+    void testEvictStaleKeepsTouchedRows() throws Exception {
+        long day = TimeUnit.DAYS.toMillis(1);
+        AtomicLong now = new AtomicLong(0);
+        ReadStatusColumnStore store = new ReadStatusColumnStore(16, now::get);
+        store.put(1L, 1L, 1L, 0L);
+        store.put(2L, 2L, 2L, 0L);
+        now.set(100 * day);
+
+        int evicted = store.evictStale(30 * day, 64, (rows, count) -> store.get(1L, ReadStatusColumnStoreTest::row));
+
+        assertEquals(1, evicted);
+        assertTrue(store.contains(1L));
+        assertFalse(store.contains(2L));
+    }
+
+    @Test
+    @DisplayName("lastReadAt 은 1957 ~ 2093 년만 담고, 범위 밖이면 넣지 않는다")
+    void testLastReadAtRange() {
+        long earliest = LocalDateTime.of(1957, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long latest = LocalDateTime.of(2093, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        store.put(1L, 1L, 1L, earliest);
+        store.put(2L, 2L, 2L, latest);
+
+        assertEquals(earliest, store.get(1L, ReadStatusColumnStoreTest::row)[3]);
+        assertEquals(latest, store.get(2L, ReadStatusColumnStoreTest::row)[3]);
+        assertTrue(ReadStatusColumnStore.canStore(ReadStatus.NO_LAST_READ_AT));
+        long tooEarly = LocalDateTime.of(1900, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        assertFalse(ReadStatusColumnStore.canStore(tooEarly));
+        assertThrows(IllegalArgumentException.class, () -> store.put(3L, 3L, 3L, tooEarly));
+        assertFalse(store.contains(3L));
+    }
+
+    private static long[] row(long id, long userId, long channelId, long lastReadAt) {
+        return new long[]{id, userId, channelId, lastReadAt};
+    }
+}
@@ -0,0 +1,90 @@
+package com.jyami.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadStatusEvictorTest {
+
+    private static final long MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    private final AtomicLong clock = new AtomicLong(1_740_000_000_000L);
+    private Path dir;
+    private ReadStatusColumnStore hotStore;
+    private ReadStatusColdStore coldStore;
+    private ReadStatusEvictor evictor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("evictor");
+        hotStore = new ReadStatusColumnStore(16, clock::get);
+        coldStore = new ReadStatusColdStore(dir.toString(), 2);
+        evictor = new ReadStatusEvictor(hotStore, coldStore, MAX_AGE_MILLIS, TimeUnit.MINUTES.toMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        evictor.close();
+        coldStore.close();
+    }
+
+    @Test
+    @DisplayName("오래된 행만 cold tier 로 옮기고 hot 에서 지운다")
+    void testEvict() throws IOException {
+        long now = clock.get() / 1000;
+        hotStore.put(1L, 10L, 100L, now - TimeUnit.DAYS.toSeconds(60));
+        hotStore.put(2L, 20L, 200L, now - TimeUnit.DAYS.toSeconds(60));
+        hotStore.put(3L, 30L, 300L, now + TimeUnit.DAYS.toSeconds(31)); // lastReadAt 이 최근인 행은 남긴다
+        clock.addAndGet(TimeUnit.DAYS.toMillis(31));
+        hotStore.get(2L, ReadStatusEvictorTest::row); // 최근에 조회한 행도 남긴다
+
+        assertEquals(1, evictor.evict());
+
+        assertEquals(2, hotStore.size());
+        assertNull(hotStore.get(1L, ReadStatusEvictorTest::row));
+        assertArrayEquals(new long[]{1L, 10L, 100L, now - TimeUnit.DAYS.toSeconds(60)}, coldStore.get(1L, ReadStatusEvictorTest::row));
+        assertNull(coldStore.get(2L, ReadStatusEvictorTest::row));
+        assertNull(coldStore.get(3L, ReadStatusEvictorTest::row));
+        assertEquals(1, evictor.getEvictedTotal());
+        assertEquals(0, evictor.evict());
+    }
+
+    @Test
+    @DisplayName("hot 에 다시 올라간 행도 compact 뒤 cold 에 남아 있어 재시작해도 잃지 않는다")
+    void testFaultedInRowSurvivesCompaction() throws IOException {
+        hotStore.put(1L, 10L, 100L, 0L);
+        clock.addAndGet(MAX_AGE_MILLIS * 2);
+        evictor.evict();
+        long[] faultedIn = coldStore.get(1L, ReadStatusEvictorTest::row);
+        hotStore.put(faultedIn[0], faultedIn[1], faultedIn[2], faultedIn[3]); // ReadStatusService 의 fault-in 과 같다
+
+        for (long id = 2; id <= 9; id++) { // compact 가 돌도록 한 번에 한 행씩 옮긴다
+            hotStore.put(id, id, id, 0L);
+            clock.addAndGet(MAX_AGE_MILLIS * 2);
+            hotStore.get(1L, ReadStatusEvictorTest::row); // 1 은 계속 hot 에 둔다
+            evictor.evict();
+        }
+        assertTrue(coldStore.segmentCount() < 9); // 1 이 들어 있던 segment 도 합쳐졌다
+        assertTrue(hotStore.contains(1L));
+        evictor.close();
+        coldStore.close();
+
+        coldStore = new ReadStatusColdStore(dir.toString(), 2); // hot 은 heap 에만 있으므로 재시작하면 cold 만 남는다
+
+        assertArrayEquals(new long[]{1L, 10L, 100L, 0L}, coldStore.get(1L, ReadStatusEvictorTest::row));
+        assertEquals(9, coldStore.recordCount());
+    }
+
+    private static long[] row(long id, long userId, long channelId, long lastReadAt) {
+        return new long[]{id, userId, channelId, lastReadAt};
+    }
+}
@@ -2,6 +2,7 @@ package com.jyami.repository;
 
 import com.jyami.dto.UserDto;
 import com.jyami.entity.User;
+import com.jyami.id.SnowflakeIdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,7 +16,7 @@ public class UserRepositoryListImplTest {
 
     @BeforeEach
     void setUp() {
-        userRepository = new UserRepositoryListImpl(); // 테스트 전에 새로운 저장소 초기화
+        userRepository = new UserRepositoryListImpl(new SnowflakeIdGenerator(0)); // 테스트 전에 새로운 저장소 초기화
     }
 
     @Test
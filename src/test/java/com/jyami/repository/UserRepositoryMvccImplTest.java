@@ -0,0 +1,128 @@
+package com.jyami.repository;
+
+import com.jyami.dto.UserDto;
+import com.jyami.entity.User;
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRepositoryMvccImplTest {
+    private UserRepositoryMvccImpl userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new UserRepositoryMvccImpl(new SnowflakeIdGenerator(0));
+    }
+
+    @Test
+    @DisplayName("유저 생성 및 조회 테스트")
+    void testCreateAndFindById() {
+        User user = userRepository.create(new UserDto("Alice", "alice@example.com"));
+
+        assertEquals("Alice", userRepository.findById(user.getId()).orElseThrow().getName());
+        assertEquals(user.getId(), userRepository.findByEmail("alice@example.com").getId());
+        assertFalse(userRepository.findById(999L).isPresent());
+    }
+
+    @Test
+    @DisplayName("update 는 새 버전을 만들고 기존 객체와 이전 findAll 결과는 그대로 둔다")
+    void testUpdateCreatesNewVersion() {
+        User user = userRepository.create(new UserDto("Alice", "alice@example.com"));
+        List<User> before = userRepository.findAll();
+
+        userRepository.update(user, new UserDto("Alice2", "alice2@example.com"));
+
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals("Alice2", updated.getName());
+        assertEquals("alice2@example.com", updated.getEmail());
+        assertEquals("Alice", user.getName());
+        assertEquals("Alice", before.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("돌려받은 User 를 고쳐도 저장된 버전과 다른 reader 의 결과는 바뀌지 않는다")
+    void testReturnedUsersAreCopies() {
+        User user = userRepository.create(new UserDto("Alice", "alice@example.com"));
+        List<User> snapshot = userRepository.findAll();
+        long version = userRepository.getVersion();
+
+        user.setName("changed");
+        userRepository.findById(user.getId()).orElseThrow().setName("changed");
+        snapshot.get(0).setEmail("changed@example.com");
+        snapshot.iterator().next().setEmail("changed@example.com");
+
+        assertEquals("Alice", userRepository.findById(user.getId()).orElseThrow().getName());
+        assertEquals("alice@example.com", snapshot.get(0).getEmail());
+        assertEquals("alice@example.com", userRepository.findByEmail("alice@example.com").getEmail());
+        assertEquals(version, userRepository.getVersion());
+    }
+
+    @Test
+    @DisplayName("같은 버전의 findAll 은 복사 없이 같은 리스트를 돌려주고 수정할 수 없다")
+    void testFindAllSharedPerVersion() {
+        userRepository.create(new UserDto("Alice", "alice@example.com"));
+
+        List<User> first = userRepository.findAll();
+        assertSame(first, userRepository.findAll());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+    }
+
+    @Test
+    @DisplayName("유저 삭제 테스트")
+    void testDelete() {
+        User alice = userRepository.create(new UserDto("Alice", "alice@example.com"));
+        User bob = userRepository.create(new UserDto("Bob", "bob@example.com"));
+
+        userRepository.delete(alice.getId());
+
+        assertFalse(userRepository.findById(alice.getId()).isPresent());
+        assertTrue(userRepository.findById(bob.getId()).isPresent());
+        assertEquals(1, userRepository.findAll().size());
+        LogicException e = assertThrows(LogicException.class,
+            () -> userRepository.update(alice, new UserDto("Alice2", "alice2@example.com")));
+        assertEquals(ErrorCode.USER_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 생성해도 유실되는 유저가 없다")
+    void testConcurrentCreate() throws InterruptedException {
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            executorService.execute(() -> {
+                try {
+                    latch.await();
+                    for (int j = 0; j < perThread; j++) {
+                        userRepository.create(new UserDto("user" + thread + "-" + j, thread + "-" + j + "@example.com"));
+                        if (j % 100 == 0) {
+                            userRepository.findAll();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        latch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, userRepository.findAll().size());
+        assertEquals(threads * perThread, userRepository.findAll().stream().map(User::getId).distinct().count());
+        assertEquals(threads * perThread, userRepository.getVersion());
+    }
+}
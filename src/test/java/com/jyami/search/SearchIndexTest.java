@@ -0,0 +1,123 @@
+package com.jyami.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+    private SearchIndex<Long, String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex<>();
+        index.put(1L, "alice", "Alice", "alice@example.com");
+        index.put(2L, "alicia", "Alicia", "alicia@sample.com");
+        index.put(3L, "bob", "Bob", "bob@example.com");
+        index.put(4L, "malice", "Malice", "malice@example.com");
+    }
+
+    @Test
+    @DisplayName("prefix 일치는 사전 순, 그 다음 부분 일치가 온다")
+    void prefixThenSubstring() {
+        assertEquals(List.of("alice", "alicia", "malice"), index.search("ali", 10));
+        assertEquals(List.of("alice", "alicia"), index.search("ALI", 2));
+    }
+
+    @Test
+    @DisplayName("이메일 중간 문자열로 검색한다")
+    void substring() {
+        // 일치 위치가 앞인 순서: bob@ (4), alice@ (6), malice@ (7)
+        assertEquals(List.of("bob", "alice", "malice"), index.search("example", 10));
+        assertEquals(List.of("alicia"), index.search("sample", 10));
+        assertTrue(index.search("zzz", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("수정/삭제하면 이전 값으로는 검색되지 않는다")
+    void updateAndRemove() {
+        index.put(3L, "robert", "Robert", "robert@example.com");
+        index.remove(1L);
+
+        assertEquals(List.of("robert"), index.search("rob", 10));
+        assertTrue(index.search("bob", 10).isEmpty());
+        assertEquals(List.of("alicia", "malice"), index.search("ali", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("sync 는 lock 안에서 읽은 원본 값으로 색인하고, 원본이 없으면 지운다")
+    void syncWithSource() {
+        index.sync(3L, () -> "robert", value -> new String[]{"Robert", "robert@example.com"});
+        assertEquals(List.of("robert"), index.search("rob", 10));
+
+        index.sync(3L, () -> null, value -> new String[]{"unused"});
+
+        assertTrue(index.search("rob", 10).isEmpty());
+        assertTrue(index.search("bob", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("수정이 많이 쌓여 색인을 다시 만들어도 결과는 같다")
+    void rebuildAfterManyUpdates() {
+        for (int i = 0; i < 5_000; i++) {
+            index.put(3L, "bob" + i, "Bob" + i, "bob" + i + "@example.com");
+        }
+
+        assertEquals(List.of("bob4999"), index.search("bob4999", 10));
+        assertEquals(List.of("alice", "malice", "bob4999"), index.search("example", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("색인을 다시 만드는 동안 들어온 추가/삭제도 빠지지 않는다")
+    void writesDuringRebuild() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        CountDownLatch latch = new CountDownLatch(1);
+        executorService.execute(() -> { // 수정을 반복해서 색인을 여러 번 다시 만들게 한다
+            await(latch);
+            for (int i = 0; i < 50_000; i++) {
+                index.put(3L, "bob" + i, "Bob" + i, "bob" + i + "@example.com");
+            }
+        });
+        executorService.execute(() -> {
+            await(latch);
+            for (long key = 100; key < 20_100; key++) {
+                index.put(key, "user" + key, "User" + key, "user" + key + "@test.com");
+            }
+            for (long key = 100; key < 20_100; key += 2) {
+                index.remove(key);
+            }
+        });
+        executorService.execute(() -> {
+            await(latch);
+            for (int i = 0; i < 2_000; i++) {
+                index.search("ali", 10);
+            }
+        });
+        latch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(4 + 10_000, index.size());
+        assertEquals(List.of("bob49999"), index.search("bob", 10));
+        assertEquals(List.of("user20099"), index.search("user20099", 10));
+        assertTrue(index.search("user20098", 10).isEmpty());
+        assertEquals(List.of("alice", "alicia", "malice"), index.search("ali", 10));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.jyami.service;
+
+import com.jyami.dto.ReadStatusBatchDto;
+import com.jyami.dto.ReadStatusDto;
+import com.jyami.error.ErrorCode;
+import com.jyami.entity.ReadStatus;
+import com.jyami.error.LogicException;
+import com.jyami.id.SnowflakeIdGenerator;
+import com.jyami.mapper.ReadStatusMapper;
+import com.jyami.repository.ReadStatusColdStore;
+import com.jyami.repository.ReadStatusColumnStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadStatusServiceTest {
+
+    private ReadStatusColumnStore store;
+    private ReadStatusColdStore coldStore;
+    private ReadStatusService readStatusService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new ReadStatusColumnStore();
+        coldStore = new ReadStatusColdStore(Files.createTempDirectory("readstatus").toString(), 2);
+        readStatusService = new ReadStatusService(Mappers.getMapper(ReadStatusMapper.class), new SnowflakeIdGenerator(0), store, coldStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coldStore.close();
+    }
+
+    @Test
+    @DisplayName("중복 id 는 한 번만 돌려준다")
+    void findAllByIdDeduplicates() {
+        long a = create(1L).id();
+        long b = create(2L).id();
+
+        ReadStatusBatchDto result = readStatusService.findAllById(new long[]{a, b, a, a, b});
+
+        assertEquals(List.of(a, b), ids(result.found()));
+        assertEquals(List.of(), result.missingIds());
+    }
+
+    @Test
+    @DisplayName("결과는 요청에서 처음 나온 순서를 따르고, 없는 id 는 missingIds 로 준다")
+    void findAllByIdKeepsFirstSeenOrder() {
+        long a = create(1L).id();
+        long b = create(2L).id();
+        long c = create(3L).id();
+        long unknown = c + 1;
+
+        ReadStatusBatchDto result = readStatusService.findAllById(new long[]{c, unknown, a, c, b, unknown});
+
+        assertEquals(List.of(c, a, b), ids(result.found()));
+        assertEquals(List.of(unknown), result.missingIds());
+    }
+
+    @Test
+    @DisplayName("MAX_BATCH_IDS 를 넘는 요청은 INVALID_REQUEST")
+    void findAllByIdRejectsTooManyIds() {
+        long[] atLimit = LongStream.range(0, ReadStatusService.MAX_BATCH_IDS).toArray();
+        assertEquals(ReadStatusService.MAX_BATCH_IDS, readStatusService.findAllById(atLimit).missingIds().size());
+
+        long[] overLimit = LongStream.rangeClosed(0, ReadStatusService.MAX_BATCH_IDS).toArray();
+        LogicException e = assertThrows(LogicException.class, () -> readStatusService.findAllById(overLimit));
+        assertEquals(ErrorCode.INVALID_REQUEST, e.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("ids 가 없으면 INVALID_REQUEST, 빈 배열이면 빈 결과")
+    void findAllByIdNullIds() {
+        LogicException e = assertThrows(LogicException.class, () -> readStatusService.findAllById(null));
+        assertEquals(ErrorCode.INVALID_REQUEST, e.getErrorCode());
+
+        ReadStatusBatchDto empty = readStatusService.findAllById(new long[0]);
+        assertEquals(List.of(), empty.found());
+        assertEquals(List.of(), empty.missingIds());
+    }
+
+    @Test
+    @DisplayName("findById 는 hot 에 없으면 cold tier 에서 찾아 hot 으로 올린다")
+    void findByIdFaultsIn() throws IOException {
+        long lastReadAt = LocalDateTime.of(2024, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        coldStore.write(new long[]{42L, 1L, 100L, lastReadAt}, 1);
+
+        ReadStatusDto readStatus = readStatusService.findById(42L);
+
+        assertEquals(new ReadStatusDto(42L, 1L, 100L, LocalDateTime.of(2024, 1, 1, 0, 0)), readStatus);
+        assertTrue(store.contains(42L));
+        LogicException e = assertThrows(LogicException.class, () -> readStatusService.findById(43L));
+        assertEquals(ErrorCode.INVALID_REQUEST, e.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("findAllById 는 hot / cold 에서 찾은 결과를 요청 순서로 다시 정렬하고, cold 에서 찾은 행은 hot 으로 올린다")
+    void findAllByIdFaultsInAndKeepsRequestOrder() throws IOException {
+        long a = create(1L).id();
+        long b = create(2L).id();
+        long[] coldRows = new long[300 * 4]; // page 여러 개
+        for (int i = 0; i < 300; i++) {
+            coldRows[i * 4] = 1_000L + i;
+            coldRows[i * 4 + 1] = i;
+            coldRows[i * 4 + 2] = 100L;
+            coldRows[i * 4 + 3] = ReadStatus.NO_LAST_READ_AT;
+        }
+        coldStore.write(coldRows, 300);
+
+        ReadStatusBatchDto result = readStatusService.findAllById(new long[]{1_299L, a, 5L, 1_000L, b, 1_299L, 1_150L});
+
+        assertEquals(List.of(1_299L, a, 1_000L, b, 1_150L), ids(result.found()));
+        assertEquals(List.of(5L), result.missingIds());
+        assertNull(result.found().get(0).lastReadAt());
+        assertTrue(store.contains(1_000L) && store.contains(1_150L) && store.contains(1_299L));
+        assertFalse(store.contains(1_001L));
+    }
+
+    @Test
+    @DisplayName("저장소에 담을 수 없는 lastReadAt 은 INVALID_REQUEST")
+    void createRejectsOutOfRangeLastReadAt() {
+        ReadStatusDto dto = new ReadStatusDto(0L, 1L, 100L, LocalDateTime.of(1900, 1, 1, 0, 0));
+
+        LogicException e = assertThrows(LogicException.class, () -> readStatusService.createReadStatus(dto));
+        assertEquals(ErrorCode.INVALID_REQUEST, e.getErrorCode());
+        assertEquals(0, store.size());
+    }
+
+    private ReadStatusDto create(long userId) {
+        return readStatusService.createReadStatus(new ReadStatusDto(0L, userId, 100L, LocalDateTime.of(2025, 3, 1, 12, 0)));
+    }
+
+    private static List<Long> ids(List<ReadStatusDto> readStatuses) {
+        return readStatuses.stream().map(ReadStatusDto::id).toList();
+    }
+}
@@ -0,0 +1,158 @@
+package com.jyami.service;
+
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.file.Channel;
+import com.jyami.file.FileChannelRepository;
+import com.jyami.file.StoreSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoreExportServiceTest {
+
+    private Path dir;
+    private FileChannelRepository repository;
+    private StoreExportService exportService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("export");
+        repository = new FileChannelRepository(dir.resolve("channel.ser").toString());
+        exportService = new StoreExportService(List.of(repository), dir.resolve("export").toString(), 60, "standalone", true);
+    }
+
+    @Test
+    @DisplayName("스냅샷은 이후에 저장된 변경의 영향을 받지 않는다")
+    void snapshotIsStable() throws IOException {
+        repository.addChannel(new Channel("general"));
+        StoreSnapshot snapshot = exportService.createSnapshot("channel");
+        byte[] exported = Files.readAllBytes(snapshot.file());
+
+        repository.addChannel(new Channel("random"));
+
+        assertArrayEquals(exported, Files.readAllBytes(snapshot.file()));
+        assertEquals(exported.length, snapshot.size());
+        assertEquals(snapshot, exportService.findSnapshot("channel", snapshot.id()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("export 한 파일을 새 인스턴스에 import 하면 같은 채널 목록이 된다")
+    void importBootstrapsFreshInstance() throws IOException {
+        repository.addChannel(new Channel("general"));
+        repository.addChannel(new Channel("random"));
+        byte[] exported = Files.readAllBytes(exportService.createSnapshot("channel").file());
+
+        Path freshDir = Files.createTempDirectory("fresh");
+        FileChannelRepository fresh = new FileChannelRepository(freshDir.resolve("channel.ser").toString());
+        StoreExportService freshExportService = new StoreExportService(List.of(fresh), freshDir.resolve("export").toString(), 60, "standalone", true);
+
+        assertEquals(exported.length, freshExportService.importStore("channel", new ByteArrayInputStream(exported)));
+
+        assertEquals(Set.copyOf(repository.getChannelList()), Set.copyOf(fresh.getChannelList()));
+        assertEquals(1, fresh.getSequence());
+        assertEquals(Set.copyOf(repository.getChannelList()),
+            Set.copyOf(new FileChannelRepository(freshDir.resolve("channel.ser").toString()).getChannelList()));
+    }
+
+    @Test
+    @DisplayName("채널 저장 파일이 아니면 import 하지 않고 기존 데이터를 유지한다")
+    void importRejectsInvalidFile() {
+        repository.addChannel(new Channel("general"));
+        InputStream garbage = new ByteArrayInputStream("not a channel file".getBytes());
+
+        assertThrows(LogicException.class, () -> exportService.importStore("channel", garbage));
+        assertEquals(List.of(new Channel("general")), repository.getChannelList());
+    }
+
+    @Test
+    @DisplayName("replica 에서는 import 할 수 없다")
+    void importOnReplicaIsRejected() {
+        StoreExportService replicaExportService = new StoreExportService(List.of(repository), dir.resolve("export").toString(), 60, "replica", true);
+
+        assertThrows(LogicException.class, () -> replicaExportService.importStore("channel", new ByteArrayInputStream(new byte[0])));
+    }
+
+    @Test
+    @DisplayName("import 를 켜지 않았으면 받지 않는다")
+    void importDisabledByDefault() {
+        repository.addChannel(new Channel("general"));
+        StoreExportService disabled = new StoreExportService(List.of(repository), dir.resolve("export").toString(), 60, "standalone", false);
+
+        LogicException e = assertThrows(LogicException.class,
+            () -> disabled.importStore("channel", new ByteArrayInputStream(new byte[0])));
+        assertEquals(ErrorCode.IMPORT_DISABLED, e.getErrorCode());
+        assertEquals(List.of(new Channel("general")), repository.getChannelList());
+    }
+
+    @Test
+    @DisplayName("export 디렉터리는 첫 스냅샷을 만들 때 생긴다")
+    void exportDirCreatedLazily() {
+        Path exportDir = dir.resolve("lazy-export");
+        StoreExportService service = new StoreExportService(List.of(repository), exportDir.toString(), 60, "standalone", false);
+        assertFalse(Files.exists(exportDir));
+
+        service.createSnapshot("channel");
+        assertTrue(Files.isDirectory(exportDir));
+    }
+
+    @Test
+    @DisplayName("key / value 타입이 다른 HashMap 은 import 하지 않는다")
+    void importRejectsWrongEntryTypes() throws IOException {
+        repository.addChannel(new Channel("general"));
+        HashMap<UUID, String> wrongValues = new HashMap<>();
+        wrongValues.put(UUID.randomUUID(), "general");
+
+        assertThrows(LogicException.class, () -> exportService.importStore("channel", new ByteArrayInputStream(serialize(wrongValues))));
+        assertEquals(List.of(new Channel("general")), repository.getChannelList());
+    }
+
+    @Test
+    @DisplayName("조작된 HashMap 크기로 큰 배열을 만들게 하는 파일은 읽기 전에 거절한다")
+    void importRejectsHugeCapacity() throws IOException {
+        byte[] bytes = serialize(new HashMap<UUID, Channel>());
+        // HashMap.writeObject 가 쓰는 block data: 버킷 수(16), 항목 수(0)
+        byte[] counts = {0x77, 0x08, 0, 0, 0, 0x10, 0, 0, 0, 0};
+        int offset = indexOf(bytes, counts);
+        assertTrue(offset >= 0);
+        bytes[offset + 6] = 0x7f; // 항목 수 = 0x7f000000
+        InputStream crafted = new ByteArrayInputStream(bytes);
+
+        assertThrows(LogicException.class, () -> exportService.importStore("channel", crafted));
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        outer:
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (bytes[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,116 @@
+package com.jyami.service;
+
+import com.jyami.dto.UserDto;
+import com.jyami.entity.User;
+import com.jyami.error.ErrorCode;
+import com.jyami.error.LogicException;
+import com.jyami.file.Channel;
+import com.jyami.file.FileChannelRepository;
+import com.jyami.id.SnowflakeIdGenerator;
+import com.jyami.repository.UserRepository;
+import com.jyami.repository.UserRepositoryMvccImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserServiceTest {
+
+    private UserRepository userRepository;
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path dir = Files.createTempDirectory("user");
+        userRepository = new UserRepositoryMvccImpl(new SnowflakeIdGenerator(0));
+        searchService = new SearchService(new FileChannelRepository(dir.resolve("channel.dat").toString()));
+    }
+
+    @Test
+    @DisplayName("시작할 때 이미 저장된 유저를 색인한다")
+    void indexesExistingUsersOnStartup() {
+        userRepository.create(new UserDto("Alice", "alice@example.com"));
+        userRepository.create(new UserDto("Bob", "bob@example.com"));
+
+        new UserService(userRepository, searchService, "test");
+
+        assertEquals(List.of("Alice"), names(searchService.searchUsers("ali", 10)));
+        assertEquals(List.of("Bob"), names(searchService.searchUsers("bob@", 10)));
+    }
+
+    @Test
+    @DisplayName("생성/수정/삭제는 바로 검색 결과에 반영된다")
+    void keepsIndexInSyncWithWrites() {
+        UserService userService = new UserService(userRepository, searchService, "test");
+
+        User alice = userService.create(new UserDto("Alice", "alice@example.com"));
+        assertEquals(List.of("Alice"), names(searchService.searchUsers("ali", 10)));
+
+        userService.update(alice.getId(), new UserDto("Carol", "carol@example.com"));
+        assertTrue(searchService.searchUsers("ali", 10).isEmpty());
+        assertEquals(List.of("Carol"), names(searchService.searchUsers("car", 10)));
+
+        userService.delete(alice.getId());
+        assertTrue(searchService.searchUsers("car", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("update 의 색인 반영이 delete 보다 늦게 끝나도 지운 유저는 검색되지 않는다")
+    void lateUpdateDoesNotResurrectDeletedUser() {
+        UserService userService = new UserService(userRepository, searchService, "test");
+        User alice = userService.create(new UserDto("Alice", "alice@example.com"));
+
+        // update 가 저장소에 쓴 뒤 색인에 반영하기 전에 delete 가 끝난 경우
+        userRepository.update(alice, new UserDto("Carol", "carol@example.com"));
+        userService.delete(alice.getId());
+        searchService.syncUser(alice.getId(), () -> userRepository.findById(alice.getId()));
+
+        assertTrue(searchService.searchUsers("car", 10).isEmpty());
+        assertTrue(searchService.searchUsers("ali", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("조회한 뒤 update 전에 지워진 유저를 수정하면 없는 유저와 같은 USER_NOT_FOUND")
+    void updateRacingDelete() {
+        UserService userService = new UserService(new UserRepositoryMvccImpl(new SnowflakeIdGenerator(0)) {
+            @Override
+            public void update(User user, UserDto userDto) {
+                delete(user.getId()); // findById 와 update 사이에 delete 가 끝난 경우
+                super.update(user, userDto);
+            }
+        }, searchService, "test");
+        User alice = userService.create(new UserDto("Alice", "alice@example.com"));
+
+        LogicException e = assertThrows(LogicException.class,
+            () -> userService.update(alice.getId(), new UserDto("Carol", "carol@example.com")));
+
+        assertEquals(ErrorCode.USER_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("채널 저장소를 통째로 바꾸면 새 색인으로 교체한다")
+    void channelResetSwapsIndex() throws IOException {
+        Path dir = Files.createTempDirectory("channel-search");
+        FileChannelRepository channels = new FileChannelRepository(dir.resolve("channel.dat").toString());
+        channels.addChannel(new Channel("general"));
+        SearchService service = new SearchService(channels);
+        assertEquals(List.of("general"), service.searchChannels("gen", 10).stream().map(Channel::name).toList());
+
+        FileChannelRepository other = new FileChannelRepository(dir.resolve("other.dat").toString());
+        other.addChannel(new Channel("notice"));
+        channels.restore(other.snapshot());
+
+        assertTrue(service.searchChannels("gen", 10).isEmpty());
+        assertEquals(List.of("notice"), service.searchChannels("not", 10).stream().map(Channel::name).toList());
+    }
+
+    private static List<String> names(List<User> users) {
+        return users.stream().map(User::getName).toList();
+    }
+}
@@ -0,0 +1,134 @@
+package com.jyami.singleton;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 여러 스레드가 거의 같은 순간에 getInstance() 를 부르도록 만들어 lazy 초기화 경쟁을 재현한다.
+ *
+ * CountDownLatch 로 출발시키면 스레드가 깨어나는 시각이 수 마이크로초씩 벌어져 경쟁이 거의 안 생긴다.
+ * 그래서 각 스레드가 volatile round 값을 바쁘게 기다리다가 바뀌는 순간 동시에 호출하게 하고,
+ * 매 round 마다 instance 필드를 null 로 되돌려 같은 상황을 수만 번 반복한다.
+ */
+class SingletonRaceTest {
+
+    private static final int MAX_ROUNDS = 200_000;
+
+    @BeforeEach
+    void setUp() {
+        // CPU 가 하나면 스레드가 번갈아 실행될 뿐 동시에 실행되지 않아서 경쟁을 만들 수 없다
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 2, "CPU 가 2개 이상 필요하다");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        // 다른 테스트가 보는 초기 상태(instance == null)로 되돌린다
+        resetInstance(LazySingleton.class);
+        resetInstance(ThreadSafeSingleton.class);
+        resetInstance(DoubleCheckedLockingSingleton.class);
+    }
+
+    @Test
+    @DisplayName("LazySingleton 은 동시에 호출하면 서로 다른 인스턴스가 만들어진다")
+    void lazySingletonRace() throws Exception {
+        int duplicatedRound = race(LazySingleton.class, LazySingleton::getInstance, MAX_ROUNDS);
+
+        assertTrue(duplicatedRound >= 0, MAX_ROUNDS + " round 동안 경쟁이 재현되지 않았다");
+    }
+
+    @Test
+    @DisplayName("ThreadSafeSingleton, DoubleCheckedLockingSingleton 은 동시에 호출해도 인스턴스가 하나다")
+    void synchronizedSingletonsNoRace() throws Exception {
+        assertEquals(-1, race(ThreadSafeSingleton.class, ThreadSafeSingleton::getInstance, 20_000));
+        assertEquals(-1, race(DoubleCheckedLockingSingleton.class, DoubleCheckedLockingSingleton::getInstance, 20_000));
+    }
+
+    /**
+     * 서로 다른 인스턴스가 나온 첫 round 를 돌려준다. maxRounds 동안 없으면 -1.
+     */
+    private int race(Class<?> type, Supplier<Object> getInstance, int maxRounds) throws Exception {
+        int threadCount = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        Field instanceField = type.getDeclaredField("instance");
+        instanceField.setAccessible(true);
+
+        RaceState state = new RaceState(threadCount);
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> {
+                int seen = 0;
+                while (true) {
+                    int round;
+                    while ((round = state.round) == seen) {
+                        Thread.onSpinWait();
+                    }
+                    if (round < 0) {
+                        return;
+                    }
+                    state.results[index] = getInstance.get();
+                    seen = round;
+                    state.arrive();
+                }
+            });
+            threads[t].start();
+        }
+
+        try {
+            for (int round = 1; round <= maxRounds; round++) {
+                instanceField.set(null, null);
+                state.startRound(round);
+                state.awaitArrivals();
+                for (int t = 1; t < threadCount; t++) {
+                    if (state.results[t] != state.results[0]) {
+                        return round;
+                    }
+                }
+            }
+            return -1;
+        } finally {
+            state.round = -1;
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+    }
+
+    private static void resetInstance(Class<?> type) throws Exception {
+        Field instanceField = type.getDeclaredField("instance");
+        instanceField.setAccessible(true);
+        instanceField.set(null, null);
+    }
+
+    private static final class RaceState {
+        private final Object[] results;
+        private volatile int round;
+        private volatile int arrived;
+
+        private RaceState(int threadCount) {
+            this.results = new Object[threadCount];
+        }
+
+        private void startRound(int round) {
+            arrived = 0;
+            this.round = round;
+        }
+
+        private synchronized void arrive() {
+            arrived++;
+        }
+
+        private void awaitArrivals() {
+            while (arrived < results.length) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -108,4 +108,20 @@ class SingletonTest {
         assertEquals(doubleCheckedLockingSingleton, doubleCheckedLockingSingleton2);
     }
 
+    @Test
+    @DisplayName("HolderSingleton 싱글톤 테스트. 두 객체는 같은 객체이다.")
+    void holderSingletonTest() {
+        HolderSingleton holderSingleton = HolderSingleton.getInstance();
+        HolderSingleton holderSingleton2 = HolderSingleton.getInstance();
+        assertSame(holderSingleton, holderSingleton2);
+    }
+
+    @Test
+    @DisplayName("EnumSingleton 싱글톤 테스트. 두 객체는 같은 객체이다.")
+    void enumSingletonTest() {
+        EnumSingleton enumSingleton = EnumSingleton.INSTANCE;
+        EnumSingleton enumSingleton2 = EnumSingleton.valueOf("INSTANCE");
+        assertSame(enumSingleton, enumSingleton2);
+    }
+
 }
@@ -0,0 +1,80 @@
+package com.jyami
+
+import java.io.BufferedReader
+import java.io.BufferedWriter
+import java.io.PipedReader
+import java.io.PipedWriter
+import java.io.StringReader
+import java.io.StringWriter
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+
+class BatchTest {
+
+    @Test
+    fun `대화형 형식과 한 줄 형식을 모두 받고, 명령 순서대로 출력한다`() {
+        val input = listOf("add", "a", "add b", "remove", "a", "remove c", "loop", "exit", "add d").joinToString("\n")
+        val list = mutableListOf<String>()
+        val out = StringWriter()
+
+        val summary = runBatch(list, BufferedReader(StringReader(input)), out)
+
+        assertEquals("Item added: a\nItem added: b\nItem removed: a\nItem not found: c\nInvalid command.\n", out.toString())
+        assertEquals(listOf("b"), list)
+        assertEquals(5, summary.commands)
+        assertEquals(1, summary.notFound)
+        assertEquals(1, summary.invalid)
+    }
+
+    @Test
+    fun `모아서 반영한 결과가 한 건씩 add, remove 한 결과와 같다`() {
+        val random = Random(42)
+        val input = StringBuilder()
+        val expected = mutableListOf("x1", "x2", "x1")
+        val expectedOut = StringBuilder()
+        repeat(200_000) {
+            val item = "x" + random.nextInt(50)
+            if (random.nextInt(3) == 0) {
+                input.append("remove ").append(item).append('\n')
+                expectedOut.append(if (expected.remove(item)) "Item removed: " else "Item not found: ").append(item).append('\n')
+            } else {
+                input.append("add ").append(item).append('\n')
+                expected.add(item)
+                expectedOut.append("Item added: ").append(item).append('\n')
+            }
+        }
+        val list = mutableListOf("x1", "x2", "x1")
+        val out = StringWriter()
+
+        runBatch(list, BufferedReader(StringReader(input.toString())), out)
+
+        assertEquals(expected, list)
+        assertEquals(expectedOut.toString(), out.toString())
+    }
+
+    @Test
+    fun `입력이 끊기면 EOF 를 기다리지 않고 그때까지의 결과를 flush 한다`() {
+        val input = PipedWriter()
+        val reader = BufferedReader(PipedReader(input))
+        val sink = StringWriter()
+        val out = BufferedWriter(sink, WRITE_BUFFER_SIZE)
+        val run = CompletableFuture.supplyAsync { runBatch(mutableListOf(), reader, out) }
+
+        input.write("add a\nremove b\n")
+        input.flush()
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (sink.toString() != "Item added: a\nItem not found: b\n" && System.nanoTime() < deadline) {
+            Thread.sleep(10)
+        }
+        assertEquals("Item added: a\nItem not found: b\n", sink.toString())
+        assertFalse(run.isDone)
+
+        input.write("exit\n")
+        input.close()
+        assertEquals(2, run.get(5, TimeUnit.SECONDS).commands)
+    }
+}